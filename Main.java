@@ -1,20 +1,57 @@
 package functions;
 
 import functions.basic.*;
+import functions.meta.*;
+import functions.metrics.Metrics;
+import functions.metrics.ProfiledFunction;
+import functions.threads.Generator;
+import functions.threads.Integrator;
 import functions.threads.Task;
 import functions.threads.SimpleIntegrator;
 import functions.threads.SimpleGenerator;
-import functions.threads.Generator;
-import functions.threads.Integrator;
+import functions.threads.IntegrationService;
+import functions.threads.IntegrationTask;
+import functions.threads.JobScope;
+import functions.threads.TaskResult;
+import functions.threads.RingGenerator;
+import functions.threads.RingIntegrator;
+import functions.threads.TaskRing;
+import functions.threads.WaitStrategy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 
 public class Main {
     public static void main(String[] args) {
         testIntegration();
+        profiledIntegration();
         nonThread();
         simpleThreads();
         complicatedThreads();
+        scopedThreads();
+        ringThreads();
+        virtualThreads();
+        if (Metrics.ENABLED) {
+            System.out.println(Metrics.report());
+        }
+    }
+
+    // Профиль дерева функций: какая ветвь занимает время интегрирования и табулирования
+    private static void profiledIntegration() {
+        System.out.println("=== PROFILED INTEGRATION ===");
+        Function function = new Sum(new Power(new Log(3), 2.5),
+                new Mult(new Sin(), new Composition(new Exp(), new Cos())));
+        ProfiledFunction profiled = ProfiledFunction.profile(function, 64);
+        System.out.printf("Интеграл: %.10f\n", Functions.Integrate(profiled, 1, 10, 1e-5));
+        System.out.print(profiled.report());
+        profiled.reset();
+        TabulatedFunctions.tabulate(profiled, 1, 10, 100000);
+        System.out.print(profiled.report());
+        System.out.println("=== PROFILED INTEGRATION COMPLETED ===");
     }
 
     private static void testIntegration() {
@@ -59,6 +96,13 @@ public class Main {
         System.out.printf("Шаг %.2e: интеграл = %.10f, погрешность = %.2e\n",
                 fineStep, fineIntegral, fineError);
 
+        // Адаптивное интегрирование: точность задаётся явно вместо подбора шага
+        System.out.println("\n--- Адаптивное интегрирование (Гаусс-Кронрод) ---");
+        IntegrationResult adaptive = Functions.integrateAdaptive(expFunction, 0, 1, 1e-10);
+        System.out.printf("Интеграл = %.10f, оценка погрешности = %.2e, вычислений функции = %d, фактическая погрешность = %.2e\n",
+                adaptive.getValue(), adaptive.getErrorEstimate(), adaptive.getEvaluations(),
+                Math.abs(adaptive.getValue() - theoreticalValue));
+
         // Тестирование обработки ошибок
         System.out.println("\n=== TEST ERROR HANDLING ===");
 
@@ -169,9 +213,51 @@ public class Main {
         System.out.println("=== SIMPLE THREADS EXECUTION COMPLETED ===");
     }
 
+    // Генератор (главный поток) и интеграторы IntegrationService: очередь с обратным давлением
+    // вместо общего Task с семафором. Генератор не ждёт обработки каждого задания и ничего
+    // не отбрасывает по таймауту, а останов выполняет все принятые задания.
     public static void complicatedThreads() {
         System.out.println("=== COMPLICATED THREADS EXECUTION ===");
 
+        int tasksCount = 100;
+        IntegrationService service = new IntegrationService(16,
+                result -> System.out.println(result));
+
+        try {
+            for (int i = 0; i < tasksCount; i++) {
+                double base = 1 + Math.random() * 9;
+                if (Math.abs(base - 1.0) < 1e-10) {
+                    base = 1.1;
+                }
+                IntegrationTask task = new IntegrationTask(i, new Log(base),
+                        Math.random() * 100, 100 + Math.random() * 100, Math.random());
+                System.out.printf("Source %.6f %.6f %.6f\n",
+                        task.getLeftBorder(), task.getRightBorder(), task.getDiscretizationStep());
+                service.submit(task); // ждёт, если очередь заполнена
+            }
+        } catch (InterruptedException e) {
+            System.out.println("Main thread was interrupted while submitting");
+        } finally {
+            service.shutdown();
+        }
+
+        try {
+            if (!service.awaitTermination(1, TimeUnit.MINUTES)) {
+                System.out.println("Integration service did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            System.out.println("Main thread was interrupted while waiting for the service");
+        }
+
+        System.out.printf("Submitted %d, completed %d, failed %d\n", service.getSubmittedCount(),
+                service.getCompletedCount(), service.getFailedCount());
+        System.out.println("=== COMPLICATED THREADS EXECUTION COMPLETED ===");
+    }
+
+    // Генератор и интегратор с общим заданием Task и семафором, выполняемые в области JobScope
+    public static void scopedThreads() {
+        System.out.println("=== SCOPED THREADS EXECUTION ===");
+
         // Создаем объект задания
         Task task = new Task();
         task.setTasksCount(100);
@@ -179,37 +265,82 @@ public class Main {
         // Создаем семафор (1 разрешение = взаимное исключение)
         Semaphore semaphore = new Semaphore(1);
 
-        // Создаем потоки
+        // Создаем генератор и интегратор
         Generator generator = new Generator(task, semaphore);
         Integrator integrator = new Integrator(task, semaphore);
 
-        // Устанавливаем приоритеты (можно экспериментировать)
-        generator.setPriority(Thread.MAX_PRIORITY);
-        integrator.setPriority(Thread.MIN_PRIORITY);
+        // Генератор и интегратор выполняются как задания области JobScope: выход из области
+        // прерывает незавершённые задания и дожидается их, вместо ручных interrupt и join
+        try (JobScope scope = new JobScope()) {
+            scope.fork(generator);
+            scope.fork(integrator);
 
-        // Запускаем потоки
-        generator.start();
-        integrator.start();
+            // Ждем 50ms, затем область прерывает потоки
+            if (!scope.join(50, TimeUnit.MILLISECONDS)) {
+                System.out.println("Time is up, cancelling generator and integrator");
+            }
+        } catch (InterruptedException e) {
+            System.out.println("Main thread was interrupted");
+        }
 
-        // Ждем 50ms и прерываем потоки
+        System.out.println("=== SCOPED THREADS EXECUTION COMPLETED ===");
+    }
+
+    // Генератор и интегратор, передающие задания через кольцевой буфер без блокировок
+    public static void ringThreads() {
+        System.out.println("=== RING BUFFER THREADS EXECUTION ===");
+
+        TaskRing ring = new TaskRing(16, WaitStrategy.YIELD);
+        RingIntegrator integrator = new RingIntegrator(ring);
+        Thread generatorThread = new Thread(new RingGenerator(ring, 100, 4));
+        Thread integratorThread = new Thread(integrator);
+
+        generatorThread.start();
+        integratorThread.start();
+
+        // Генератор закрывает кольцо, интегратор завершается после последнего задания
         try {
-            Thread.sleep(50);
+            generatorThread.join();
+            integratorThread.join();
         } catch (InterruptedException e) {
             System.out.println("Main thread was interrupted");
         }
 
-        // Прерываем потоки
-        generator.interrupt();
-        integrator.interrupt();
+        System.out.println("Processed " + integrator.getProcessedCount());
+        System.out.println("=== RING BUFFER THREADS EXECUTION COMPLETED ===");
+    }
 
-        // Ожидаем завершения потоков
-        try {
-            generator.join();
-            integrator.join();
+    // Тысяча заданий, каждое в своём (виртуальном, если доступно) потоке; интегрирование
+    // выполняется в ограниченном пуле вычислений области
+    public static void virtualThreads() {
+        System.out.println("=== JOB SCOPE EXECUTION ===");
+        System.out.println("Virtual threads: " + JobScope.isVirtualThreadsSupported());
+
+        int tasksCount = 1000;
+        int failed = 0;
+        double total = 0;
+        try (JobScope scope = new JobScope()) {
+            List<Future<TaskResult>> results = new ArrayList<>();
+            for (int i = 0; i < tasksCount; i++) {
+                IntegrationTask task = new IntegrationTask(i, new Log(1 + Math.random() * 9),
+                        Math.random() * 100, 100 + Math.random() * 100, Math.random());
+                results.add(scope.fork(() -> scope.integrate(task)));
+            }
+            for (Future<TaskResult> result : results) {
+                TaskResult value = result.get();
+                if (value.isSuccessful()) {
+                    total += value.getValue();
+                } else {
+                    failed++;
+                }
+            }
         } catch (InterruptedException e) {
-            System.out.println("Main thread was interrupted while joining");
+            System.out.println("Main thread was interrupted");
+        } catch (ExecutionException e) {
+            System.out.println("Job failed: " + e.getCause());
         }
 
-        System.out.println("=== COMPLICATED THREADS EXECUTION COMPLETED ===");
+        System.out.printf("Completed %d tasks, failed %d, sum of results %.6f\n", tasksCount, failed, total);
+        System.out.println("=== JOB SCOPE EXECUTION COMPLETED ===");
     }
 }
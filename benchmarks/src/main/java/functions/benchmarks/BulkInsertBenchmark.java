@@ -0,0 +1,54 @@
+package functions.benchmarks;
+
+import functions.ArrayTabulatedFunction;
+import functions.FunctionPoint;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Наполнение ArrayTabulatedFunction случайными точками: по одной (addPoint) и одним набором (addPoints)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BulkInsertBenchmark {
+    @Param({"1024", "65536"})
+    public int size;
+
+    private FunctionPoint[] points;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        points = new FunctionPoint[size];
+        for (int i = 0; i < size; i++) {
+            // X различны: целая часть - номер точки, перемешанный случайно
+            double x = i + 0.5;
+            points[i] = new FunctionPoint(x, Math.sin(x));
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            FunctionPoint t = points[i];
+            points[i] = points[j];
+            points[j] = t;
+        }
+    }
+
+    @Benchmark
+    public int addPointByPoint() {
+        ArrayTabulatedFunction function = new ArrayTabulatedFunction(-2, -1, 2);
+        for (FunctionPoint point : points) {
+            function.addPoint(point);
+        }
+        return function.getPointsCount();
+    }
+
+    @Benchmark
+    public int addPoints() {
+        ArrayTabulatedFunction function = new ArrayTabulatedFunction(-2, -1, 2);
+        function.addPoints(points);
+        return function.getPointsCount();
+    }
+}
@@ -0,0 +1,67 @@
+package functions.benchmarks;
+
+import functions.ArrayTabulatedFunction;
+import functions.ConcurrentTabulatedFunction;
+import functions.TabulatedFunction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Чтение таблицы несколькими потоками при редких изменениях одним писателем:
+// ConcurrentTabulatedFunction без блокировок против ArrayTabulatedFunction под общей блокировкой
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ConcurrentReadBenchmark {
+    private static final int SIZE = 4096;
+
+    private ConcurrentTabulatedFunction concurrent;
+    private TabulatedFunction locked;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ArrayTabulatedFunction source = (ArrayTabulatedFunction) Tabulated.sine("array", SIZE);
+        concurrent = new ConcurrentTabulatedFunction(source);
+        locked = (TabulatedFunction) source.clone();
+    }
+
+    @Benchmark
+    @Group("copyOnWrite")
+    @GroupThreads(3)
+    public double copyOnWriteRead() {
+        return concurrent.getFunctionValue(ThreadLocalRandom.current().nextDouble() * SIZE);
+    }
+
+    @Benchmark
+    @Group("copyOnWrite")
+    @GroupThreads(1)
+    public void copyOnWriteWrite() throws InterruptedException {
+        int index = ThreadLocalRandom.current().nextInt(SIZE);
+        concurrent.update(f -> f.setPointY(index, f.getPointY(index) + 1e-9));
+        TimeUnit.MICROSECONDS.sleep(100); // писатель редкий
+    }
+
+    @Benchmark
+    @Group("synchronized")
+    @GroupThreads(3)
+    public double synchronizedRead() {
+        double x = ThreadLocalRandom.current().nextDouble() * SIZE;
+        synchronized (locked) {
+            return locked.getFunctionValue(x);
+        }
+    }
+
+    @Benchmark
+    @Group("synchronized")
+    @GroupThreads(1)
+    public void synchronizedWrite() throws InterruptedException {
+        int index = ThreadLocalRandom.current().nextInt(SIZE);
+        synchronized (locked) {
+            locked.setPointY(index, locked.getPointY(index) + 1e-9);
+        }
+        TimeUnit.MICROSECONDS.sleep(100);
+    }
+}
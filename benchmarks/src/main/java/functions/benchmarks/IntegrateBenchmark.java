@@ -0,0 +1,45 @@
+package functions.benchmarks;
+
+import functions.Function;
+import functions.Functions;
+import functions.basic.Exp;
+import functions.basic.Log;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Functions.Integrate при разных шагах дискретизации; exp на [0, 1] - пример из Main,
+// логарифм на [1, 200] - функция из заданий Generator
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntegrateBenchmark {
+    @Param({"1e-2", "1e-3", "1e-4"})
+    public double step;
+
+    private Function exp;
+    private Function log;
+
+    @Setup
+    public void setUp() {
+        exp = new Exp();
+        log = new Log(3.5);
+    }
+
+    @Benchmark
+    public double integrateExp() {
+        return Functions.Integrate(exp, 0, 1, step);
+    }
+
+    @Benchmark
+    public double integrateLog() {
+        return Functions.Integrate(log, 1, 200, step * 100);
+    }
+
+    @Benchmark
+    public double integrateParallelExp() {
+        return Functions.integrateParallel(exp, 0, 1, step);
+    }
+}
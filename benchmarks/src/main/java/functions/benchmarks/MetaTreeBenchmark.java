@@ -0,0 +1,102 @@
+package functions.benchmarks;
+
+import functions.Function;
+import functions.FunctionDag;
+import functions.Functions;
+import functions.basic.Cos;
+import functions.basic.Exp;
+import functions.basic.Sin;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Вычисление глубоких деревьев мета-функций: исходное дерево, скомпилированное
+// (Functions.compile), упрощённое (Functions.simplify) и DAG с общими подвыражениями
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetaTreeBenchmark {
+    private static final int GRID = 1024;
+
+    @Param({"4", "16", "64"})
+    public int depth;
+
+    private Function tree;
+    private Function compiled;
+    private Function simplified;
+    private Function dag;
+    private double[] xs;
+    private double[] values;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // на каждом уровне: сдвиг и масштаб аргумента, сумма с тригонометрической функцией
+        Function f = new Sin();
+        for (int level = 0; level < depth; level++) {
+            Function leaf = level % 2 == 0 ? new Cos() : new Sin();
+            f = Functions.sum(Functions.scale(Functions.shift(f, 0.01, 0.1), 0.99, 0.5), leaf);
+            if (level % 8 == 7) {
+                f = Functions.composition(f, Functions.scale(new Exp(), 1e-3, 1));
+            }
+        }
+        tree = f;
+        compiled = Functions.compile(f);
+        simplified = Functions.simplify(f);
+        dag = new FunctionDag(f);
+        xs = new double[GRID];
+        values = new double[GRID];
+        for (int i = 0; i < GRID; i++) {
+            xs[i] = i * 0.01;
+        }
+    }
+
+    private double nextX() {
+        next = (next + 1) & (GRID - 1);
+        return xs[next];
+    }
+
+    @Benchmark
+    public double tree() {
+        return tree.getFunctionValue(nextX());
+    }
+
+    @Benchmark
+    public double compiled() {
+        return compiled.getFunctionValue(nextX());
+    }
+
+    @Benchmark
+    public double simplified() {
+        return simplified.getFunctionValue(nextX());
+    }
+
+    @Benchmark
+    public double dag() {
+        return dag.getFunctionValue(nextX());
+    }
+
+    // пакетное вычисление на сетке из GRID точек
+    @Benchmark
+    @OperationsPerInvocation(GRID)
+    public double[] treeBatch() {
+        tree.getFunctionValues(xs, values, GRID);
+        return values;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GRID)
+    public double[] compiledBatch() {
+        compiled.getFunctionValues(xs, values, GRID);
+        return values;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GRID)
+    public double[] dagBatch() {
+        dag.getFunctionValues(xs, values, GRID);
+        return values;
+    }
+}
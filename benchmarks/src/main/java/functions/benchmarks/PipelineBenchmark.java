@@ -0,0 +1,54 @@
+package functions.benchmarks;
+
+import functions.basic.Log;
+import functions.threads.IntegrationService;
+import functions.threads.IntegrationTask;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Пропускная способность передачи заданий генератор -> интегратор через IntegrationService.
+// Задания как в Generator (логарифм, границы 0..100 и 100..200), но с крупным шагом,
+// чтобы измерялась в основном передача, а не интегрирование. Вывод в консоль не выполняется.
+// Результат - время на одно задание; исходная схема с семафором - SemaphorePipelineBenchmark.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+    private static final int TASKS = 10_000;
+    private static final double STEP = 10;
+
+    @Param({"1", "4"})
+    public int workers;
+
+    private IntegrationTask[] tasks;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        tasks = new IntegrationTask[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            tasks[i] = new IntegrationTask(i, new Log(1 + random.nextDouble() * 9),
+                    random.nextDouble() * 100, 100 + random.nextDouble() * 100, STEP);
+        }
+    }
+
+    // IntegrationService: ограниченная очередь и workers интеграторов
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public long integrationService() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(TASKS);
+        IntegrationService service = new IntegrationService(workers, 256, result -> done.countDown());
+        for (IntegrationTask task : tasks) {
+            service.submit(task);
+        }
+        done.await();
+        service.shutdown();
+        service.awaitTermination(1, TimeUnit.MINUTES);
+        return service.getCompletedCount();
+    }
+}
@@ -0,0 +1,308 @@
+package functions.benchmarks;
+
+import functions.Functions;
+import functions.basic.Log;
+import functions.metrics.LatencyHistogram;
+import functions.threads.IntegrationService;
+import functions.threads.IntegrationTask;
+import functions.threads.Task;
+import functions.threads.TaskRing;
+import functions.threads.WaitStrategy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Нагрузочный тест конвейера заданий functions.threads: пропускная способность и задержка
+// от постановки задания до получения результата.
+//
+// Запуск (после mvn -B package):
+//   java -cp benchmarks/target/benchmarks.jar functions.benchmarks.PipelineLoadTest [параметры]
+// Параметры (все необязательны):
+//   --pipeline=service|ring   IntegrationService или TaskRing (ring - ровно 1 генератор и 1 интегратор)
+//   --producers=N             потоков-генераторов (по умолчанию 1)
+//   --consumers=N             интеграторов (по умолчанию число процессоров)
+//   --queue=N                 ёмкость очереди или кольца (по умолчанию 1024)
+//   --tasks=N                 наибольшее число заданий (по умолчанию 100000)
+//   --duration=S              наибольшая длительность генерации в секундах (по умолчанию 60)
+//   --warmup=N                первые N заданий не попадают в гистограммы (по умолчанию 1000)
+//   --step=fixed:h | uniform:a:b | loguniform:a:b   распределение шага дискретизации
+//                             (по умолчанию uniform:0.1:1, как у Generator без нулевого шага)
+//   --wait=YIELD|PARK|BUSY_SPIN   ожидание в кольце
+//   --out=файл                отчёт в файл вместо стандартного вывода
+// Отчёт - JSON с параметрами, числом заданий, пропускной способностью и перцентилями задержек
+// в микросекундах, чтобы результаты разных запусков можно было сравнивать автоматически.
+public class PipelineLoadTest {
+    private final String pipeline;
+    private final int producers;
+    private final int consumers;
+    private final int queueCapacity;
+    private final int maxTasks;
+    private final long durationNanos;
+    private final int warmupTasks;
+    private final StepDistribution steps;
+    private final WaitStrategy waitStrategy;
+
+    private final long[] submitNanos;  // время постановки задания с номером id
+    private final LatencyHistogram latency = new LatencyHistogram();      // постановка -> результат
+    private final LatencyHistogram serviceTime = new LatencyHistogram();  // только интегрирование
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    PipelineLoadTest(Map<String, String> options) {
+        this.pipeline = options.getOrDefault("pipeline", "service");
+        this.producers = Integer.parseInt(options.getOrDefault("producers", "1"));
+        this.consumers = Integer.parseInt(options.getOrDefault("consumers",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        this.queueCapacity = Integer.parseInt(options.getOrDefault("queue", "1024"));
+        this.maxTasks = Integer.parseInt(options.getOrDefault("tasks", "100000"));
+        this.durationNanos = (long) (Double.parseDouble(options.getOrDefault("duration", "60")) * 1e9);
+        this.warmupTasks = Integer.parseInt(options.getOrDefault("warmup", "1000"));
+        this.steps = StepDistribution.parse(options.getOrDefault("step", "uniform:0.1:1"));
+        this.waitStrategy = WaitStrategy.valueOf(options.getOrDefault("wait", "YIELD"));
+        this.submitNanos = new long[maxTasks];
+        if (!pipeline.equals("service") && !pipeline.equals("ring")) {
+            throw new IllegalArgumentException("Неизвестный конвейер: " + pipeline);
+        }
+        if (pipeline.equals("ring") && (producers != 1 || consumers != 1)) {
+            throw new IllegalArgumentException("Кольцо TaskRing рассчитано на 1 генератор и 1 интегратор");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Параметр должен иметь вид --имя=значение: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        PipelineLoadTest test = new PipelineLoadTest(options);
+        String report = test.run();
+        String out = options.get("out");
+        if (out == null) {
+            System.out.println(report);
+        } else {
+            Files.writeString(Path.of(out), report + System.lineSeparator());
+        }
+    }
+
+    String run() throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + durationNanos;
+        if (pipeline.equals("service")) {
+            runService(deadline);
+        } else {
+            runRing(deadline);
+        }
+        long elapsed = System.nanoTime() - start;
+        return report(elapsed);
+    }
+
+    private void runService(long deadline) throws InterruptedException {
+        IntegrationService service = new IntegrationService(consumers, queueCapacity, result -> {
+            long id = result.getTask().getId();
+            completed(id, result.getElapsedNanos(), !result.isSuccessful());
+        });
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            threads[p] = new Thread(() -> {
+                try {
+                    long id;
+                    while ((id = claimId(deadline)) >= 0) {
+                        IntegrationTask task = newTask(id);
+                        submitNanos[(int) id] = System.nanoTime();
+                        service.submit(task);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "producer-" + (p + 1));
+            threads[p].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        service.shutdown();
+        service.awaitTermination(1, TimeUnit.HOURS);
+    }
+
+    private void runRing(long deadline) throws InterruptedException {
+        TaskRing ring = new TaskRing(queueCapacity, waitStrategy);
+        Thread integrator = new Thread(() -> {
+            try {
+                long next = 0;
+                long available;
+                while ((available = ring.waitFor(next)) >= 0) {
+                    for (; next <= available; next++) {
+                        Task task = ring.get(next);
+                        long begin = System.nanoTime();
+                        boolean error = false;
+                        try {
+                            Functions.Integrate(task.getFunction(), task.getLeftBorder(),
+                                    task.getRightBorder(), task.getDiscretizationStep());
+                        } catch (IllegalArgumentException e) {
+                            error = true;
+                        }
+                        completed(next, System.nanoTime() - begin, error);
+                    }
+                    ring.release(available);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "integrator");
+        integrator.start();
+
+        long id;
+        while ((id = claimId(deadline)) >= 0) {
+            IntegrationTask source = newTask(id);
+            submitNanos[(int) id] = System.nanoTime();
+            long sequence = ring.claim(); // номера кольца совпадают с id: один генератор
+            Task slot = ring.get(sequence);
+            slot.setFunction(source.getFunction());
+            slot.setLeftBorder(source.getLeftBorder());
+            slot.setRightBorder(source.getRightBorder());
+            slot.setDiscretizationStep(source.getDiscretizationStep());
+            ring.publish(sequence);
+        }
+        ring.close();
+        integrator.join();
+    }
+
+    // номер следующего задания или -1, если задания или время закончились
+    private long claimId(long deadline) {
+        if (System.nanoTime() - deadline >= 0) {
+            return -1;
+        }
+        long id = nextId.getAndIncrement();
+        return id < maxTasks ? id : -1;
+    }
+
+    // задание как у Generator: логарифм со случайным основанием, границы 0..100 и 100..200
+    private IntegrationTask newTask(long id) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new IntegrationTask(id, new Log(1.1 + random.nextDouble() * 8.9),
+                random.nextDouble() * 100, 100 + random.nextDouble() * 100, steps.next(random));
+    }
+
+    private void completed(long id, long serviceNanos, boolean error) {
+        long now = System.nanoTime();
+        completed.incrementAndGet();
+        if (error) {
+            failed.incrementAndGet();
+        }
+        if (id >= warmupTasks) {
+            latency.record(Math.max(0, now - submitNanos[(int) id]));
+            serviceTime.record(Math.max(0, serviceNanos));
+        }
+    }
+
+    private String report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"config\": {");
+        boolean first = true;
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("pipeline", pipeline);
+        config.put("producers", producers);
+        config.put("consumers", consumers);
+        config.put("queue", queueCapacity);
+        config.put("tasks", maxTasks);
+        config.put("durationSeconds", durationNanos / 1e9);
+        config.put("warmup", warmupTasks);
+        config.put("step", steps.toString());
+        config.put("wait", waitStrategy.name());
+        config.put("cpus", Runtime.getRuntime().availableProcessors());
+        for (Map.Entry<String, Object> entry : config.entrySet()) {
+            json.append(first ? "" : ", ").append('"').append(entry.getKey()).append("\": ");
+            Object value = entry.getValue();
+            if (value instanceof String) {
+                json.append('"').append(value).append('"');
+            } else {
+                json.append(value);
+            }
+            first = false;
+        }
+        json.append("},\n");
+        json.append(String.format(Locale.ROOT, "  \"completed\": %d,%n", completed.get()));
+        json.append(String.format(Locale.ROOT, "  \"failed\": %d,%n", failed.get()));
+        json.append(String.format(Locale.ROOT, "  \"elapsedSeconds\": %.6f,%n", seconds));
+        json.append(String.format(Locale.ROOT, "  \"throughputPerSecond\": %.3f,%n", completed.get() / seconds));
+        json.append("  \"latencyMicros\": ").append(percentiles(latency)).append(",\n");
+        json.append("  \"serviceTimeMicros\": ").append(percentiles(serviceTime)).append("\n");
+        json.append("}");
+        return json.toString();
+    }
+
+    private static String percentiles(LatencyHistogram histogram) {
+        return String.format(Locale.ROOT,
+                "{\"count\": %d, \"min\": %.3f, \"mean\": %.3f, \"p50\": %.3f, \"p90\": %.3f, " +
+                        "\"p99\": %.3f, \"p999\": %.3f, \"max\": %.3f}",
+                histogram.getCount(), histogram.getMin() / 1e3,
+                histogram.getCount() == 0 ? 0.0 : histogram.getMean() / 1e3,
+                histogram.getValueAtPercentile(50) / 1e3, histogram.getValueAtPercentile(90) / 1e3,
+                histogram.getValueAtPercentile(99) / 1e3, histogram.getValueAtPercentile(99.9) / 1e3,
+                histogram.getMax() / 1e3);
+    }
+
+    // Распределение шага дискретизации
+    static final class StepDistribution {
+        private final String kind;
+        private final double a;
+        private final double b;
+
+        private StepDistribution(String kind, double a, double b) {
+            this.kind = kind;
+            this.a = a;
+            this.b = b;
+        }
+
+        static StepDistribution parse(String text) {
+            String[] parts = text.split(":");
+            switch (parts[0]) {
+                case "fixed":
+                    if (parts.length == 2) {
+                        double step = Double.parseDouble(parts[1]);
+                        return new StepDistribution("fixed", step, step);
+                    }
+                    break;
+                case "uniform":
+                case "loguniform":
+                    if (parts.length == 3) {
+                        double a = Double.parseDouble(parts[1]);
+                        double b = Double.parseDouble(parts[2]);
+                        if (!(a > 0 && b >= a)) {
+                            throw new IllegalArgumentException("Нужно 0 < a <= b: " + text);
+                        }
+                        return new StepDistribution(parts[0], a, b);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            throw new IllegalArgumentException("Распределение шага: fixed:h, uniform:a:b или loguniform:a:b, а не " + text);
+        }
+
+        double next(Random random) {
+            switch (kind) {
+                case "uniform": return a + random.nextDouble() * (b - a);
+                case "loguniform": return a * Math.exp(random.nextDouble() * Math.log(b / a));
+                default: return a;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return kind.equals("fixed") ? "fixed:" + a : kind + ":" + a + ":" + b;
+        }
+    }
+}
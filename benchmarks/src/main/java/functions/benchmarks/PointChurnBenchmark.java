@@ -0,0 +1,48 @@
+package functions.benchmarks;
+
+import functions.FunctionPoint;
+import functions.TabulatedFunction;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// addPoint в случайное место и deletePoint той же точки: размер таблицы не меняется
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PointChurnBenchmark {
+    private static final int POSITIONS = 1024;
+
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    @Param({"array", "linkedList"})
+    public String implementation;
+
+    private TabulatedFunction function;
+    private int[] positions;  // номер отрезка, в середину которого добавляется точка
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        function = Tabulated.sine(implementation, size);
+        Random random = new Random(42);
+        positions = new int[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            positions[i] = random.nextInt(size - 1);
+        }
+    }
+
+    @Benchmark
+    public int addAndDelete() {
+        next = (next + 1) & (POSITIONS - 1);
+        int segment = positions[next];
+        double x = segment + 0.5;
+        function.addPoint(new FunctionPoint(x, Math.sin(x)));
+        function.deletePoint(segment + 1);
+        return function.getPointsCount();
+    }
+}
@@ -0,0 +1,85 @@
+package functions.benchmarks;
+
+import functions.Functions;
+import functions.basic.Log;
+import functions.threads.Task;
+import functions.threads.TaskRing;
+import functions.threads.WaitStrategy;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Пропускная способность передачи заданий через TaskRing (один генератор, один интегратор)
+// при разных способах ожидания. Задания те же, что в PipelineBenchmark.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RingPipelineBenchmark {
+    private static final int TASKS = 10_000;
+    private static final double STEP = 10;
+
+    @Param({"YIELD", "PARK"})
+    public WaitStrategy waitStrategy;
+
+    @Param({"1", "16"})
+    public int batchSize;
+
+    private Log[] functions;
+    private double[] leftBorders;
+    private double[] rightBorders;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        functions = new Log[TASKS];
+        leftBorders = new double[TASKS];
+        rightBorders = new double[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            functions[i] = new Log(1 + random.nextDouble() * 9);
+            leftBorders[i] = random.nextDouble() * 100;
+            rightBorders[i] = 100 + random.nextDouble() * 100;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public double taskRing() throws InterruptedException {
+        TaskRing ring = new TaskRing(256, waitStrategy);
+        double[] sum = new double[1];
+        Thread integrator = new Thread(() -> {
+            try {
+                long next = 0;
+                long available;
+                while ((available = ring.waitFor(next)) >= 0) {
+                    for (; next <= available; next++) {
+                        Task task = ring.get(next);
+                        sum[0] += Functions.Integrate(task.getFunction(), task.getLeftBorder(),
+                                task.getRightBorder(), task.getDiscretizationStep());
+                    }
+                    ring.release(available);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        integrator.start();
+        for (int i = 0; i < TASKS; ) {
+            int count = Math.min(batchSize, TASKS - i);
+            long last = ring.claim(count);
+            for (long sequence = last - count + 1; sequence <= last; sequence++, i++) {
+                Task slot = ring.get(sequence);
+                slot.setFunction(functions[i]);
+                slot.setLeftBorder(leftBorders[i]);
+                slot.setRightBorder(rightBorders[i]);
+                slot.setDiscretizationStep(STEP);
+            }
+            ring.publish(last);
+        }
+        ring.close();
+        integrator.join();
+        return sum[0];
+    }
+}
@@ -0,0 +1,105 @@
+package functions.benchmarks;
+
+import functions.Function;
+import functions.Functions;
+import functions.basic.Log;
+import functions.threads.Task;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Исходная схема Generator -> Integrator: одно общее задание Task, семафор на одно разрешение
+// и флаг dataProcessed с ожиданием на task.wait. Базовая линия для PipelineBenchmark
+// и RingPipelineBenchmark, задания те же.
+// Передача повторяет Generator и Integrator, но без вывода в консоль и Thread.sleep(2) на каждом
+// задании (иначе измерялся бы sleep); генератор ждёт обработки без 100 мс таймаута, чтобы
+// ни одно задание не было перезаписано, а интегратор, не найдя новых данных, уступает процессор.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SemaphorePipelineBenchmark {
+    private static final int TASKS = 10_000;
+    private static final double STEP = 10;
+
+    private Log[] functions;
+    private double[] leftBorders;
+    private double[] rightBorders;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        functions = new Log[TASKS];
+        leftBorders = new double[TASKS];
+        rightBorders = new double[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            functions[i] = new Log(1 + random.nextDouble() * 9);
+            leftBorders[i] = random.nextDouble() * 100;
+            rightBorders[i] = 100 + random.nextDouble() * 100;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public double semaphoreTask() throws InterruptedException {
+        Task task = new Task();
+        Semaphore semaphore = new Semaphore(1);
+        double[] sum = new double[1];
+        Thread integrator = new Thread(() -> {
+            try {
+                for (int processed = 0; processed < TASKS; ) {
+                    Function function;
+                    double leftBorder, rightBorder, step;
+                    boolean shouldProcess = false;
+                    semaphore.acquire();
+                    try {
+                        function = task.getFunction();
+                        leftBorder = task.getLeftBorder();
+                        rightBorder = task.getRightBorder();
+                        step = task.getDiscretizationStep();
+                        if (!task.isDataProcessed()) {
+                            shouldProcess = true;
+                            task.setDataProcessed(true);
+                        }
+                    } finally {
+                        semaphore.release();
+                    }
+                    synchronized (task) {
+                        task.notifyAll();
+                    }
+                    if (!shouldProcess) {
+                        Thread.yield();
+                        continue;
+                    }
+                    sum[0] += Functions.Integrate(function, leftBorder, rightBorder, step);
+                    processed++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        integrator.start();
+        for (int i = 0; i < TASKS; i++) {
+            synchronized (task) {
+                while (!task.isDataProcessed()) {
+                    task.wait(10);
+                }
+            }
+            semaphore.acquire();
+            try {
+                task.setFunction(functions[i]);
+                task.setLeftBorder(leftBorders[i]);
+                task.setRightBorder(rightBorders[i]);
+                task.setDiscretizationStep(STEP);
+                task.setDataProcessed(false);
+            } finally {
+                semaphore.release();
+            }
+        }
+        integrator.join();
+        return sum[0];
+    }
+}
@@ -0,0 +1,41 @@
+package functions.benchmarks;
+
+import functions.ArrayTabulatedFunction;
+import functions.ConcurrentTabulatedFunction;
+import functions.FunctionPoint;
+import functions.LinkedListTabulatedFunction;
+import functions.TabulatedFunction;
+
+// Создание табулированной функции выбранной реализации по массивам точек
+final class Tabulated {
+    private Tabulated() {}
+
+    // implementation - "array", "linkedList" или "concurrent"
+    static TabulatedFunction create(String implementation, double[] xs, double[] ys) {
+        if ("array".equals(implementation)) {
+            return new ArrayTabulatedFunction(xs, ys);
+        }
+        if ("linkedList".equals(implementation)) {
+            FunctionPoint[] points = new FunctionPoint[xs.length];
+            for (int i = 0; i < xs.length; i++) {
+                points[i] = new FunctionPoint(xs[i], ys[i]);
+            }
+            return new LinkedListTabulatedFunction(points);
+        }
+        if ("concurrent".equals(implementation)) {
+            return new ConcurrentTabulatedFunction(new ArrayTabulatedFunction(xs, ys));
+        }
+        throw new IllegalArgumentException("Неизвестная реализация: " + implementation);
+    }
+
+    // равномерная сетка size точек на [0, size - 1] со значениями sin(x)
+    static TabulatedFunction sine(String implementation, int size) {
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = i;
+            ys[i] = Math.sin(i);
+        }
+        return create(implementation, xs, ys);
+    }
+}
@@ -0,0 +1,84 @@
+package functions.benchmarks;
+
+import functions.TabulatedFunction;
+import functions.TabulatedFunctions;
+import functions.basic.Sin;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Запись и чтение табулированной функции: двоичные потоки, текст и двоичный файл с заголовком
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TabulatedIoBenchmark {
+    @Param({"1000", "100000"})
+    public int points;
+
+    private TabulatedFunction function;
+    private byte[] binary;
+    private String text;
+    private Path file;
+    private ByteArrayOutputStream binaryOut;
+    private StringWriter textOut;
+
+    @Setup
+    public void setUp() throws IOException {
+        function = TabulatedFunctions.tabulate(new Sin(), 0, 100, points);
+
+        binaryOut = new ByteArrayOutputStream(points * 16 + 4);
+        TabulatedFunctions.outputTabulatedFunction(function, binaryOut);
+        binary = binaryOut.toByteArray();
+
+        textOut = new StringWriter(points * 40);
+        TabulatedFunctions.writeTabulatedFunction(function, textOut);
+        text = textOut.toString();
+
+        file = Files.createTempFile("tabulated", ".tabf");
+        TabulatedFunctions.writeBinaryTabulatedFunction(function, file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int writeBinaryStream() {
+        binaryOut.reset();
+        TabulatedFunctions.outputTabulatedFunction(function, binaryOut);
+        return binaryOut.size();
+    }
+
+    @Benchmark
+    public TabulatedFunction readBinaryStream() {
+        return TabulatedFunctions.inputTabulatedFunction(new ByteArrayInputStream(binary));
+    }
+
+    @Benchmark
+    public int writeText() {
+        textOut.getBuffer().setLength(0);
+        TabulatedFunctions.writeTabulatedFunction(function, textOut);
+        return textOut.getBuffer().length();
+    }
+
+    @Benchmark
+    public TabulatedFunction readText() {
+        return TabulatedFunctions.readTabulatedFunction(new StringReader(text));
+    }
+
+    @Benchmark
+    public void writeBinaryFile() throws IOException {
+        TabulatedFunctions.writeBinaryTabulatedFunction(function, file);
+    }
+
+    @Benchmark
+    public TabulatedFunction readBinaryFile() throws IOException {
+        return TabulatedFunctions.readBinaryTabulatedFunction(file);
+    }
+}
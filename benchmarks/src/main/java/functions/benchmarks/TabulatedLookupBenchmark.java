@@ -0,0 +1,53 @@
+package functions.benchmarks;
+
+import functions.TabulatedFunction;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// getFunctionValue в случайных точках области определения для двух реализаций
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TabulatedLookupBenchmark {
+    private static final int QUERIES = 1024;
+
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    @Param({"array", "linkedList", "concurrent"})
+    public String implementation;
+
+    // true - узлы равномерной сетки, false - случайно сдвинутые узлы (бинарный поиск)
+    @Param({"true", "false"})
+    public boolean uniform;
+
+    private TabulatedFunction function;
+    private double[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = uniform ? i : i + random.nextDouble() * 0.5;
+            ys[i] = Math.sin(xs[i]);
+        }
+        function = Tabulated.create(implementation, xs, ys);
+        queries = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = xs[0] + random.nextDouble() * (xs[size - 1] - xs[0]);
+        }
+    }
+
+    @Benchmark
+    public double getFunctionValue() {
+        next = (next + 1) & (QUERIES - 1);
+        return function.getFunctionValue(queries[next]);
+    }
+}
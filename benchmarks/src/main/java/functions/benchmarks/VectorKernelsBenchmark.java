@@ -0,0 +1,82 @@
+package functions.benchmarks;
+
+import functions.NumericKernels;
+import functions.vector.VectorNumericKernels;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Скалярные и векторные (Vector API) ядра NumericKernels на одних и тех же данных:
+// интерполяция по отрезкам, суммы трапеций и Симпсона, заполнение равномерной сетки.
+// Выигрыш зависит от ширины вектора: 4 double на AVX2, 8 на AVX-512. Интерполяция векторизуется
+// только для групп точек из одного отрезка: при size = 65536 на отрезок приходится 64 точки,
+// при size = 1024 - одна, и векторные ядра считают её скалярно.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class VectorKernelsBenchmark {
+    private static final int NODES = 1024;
+
+    @Param({"scalar", "vector"})
+    public String kernels;
+
+    @Param({"1024", "65536"})
+    public int size;
+
+    private NumericKernels impl;
+    private double[] nodeXs;
+    private double[] nodeYs;
+    private double[] slopes;
+    private int[] segments;
+    private double[] xs;
+    private double[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        impl = "vector".equals(kernels) ? new VectorNumericKernels() : NumericKernels.scalar();
+        nodeXs = new double[NODES];
+        nodeYs = new double[NODES];
+        for (int i = 0; i < NODES; i++) {
+            nodeXs[i] = i;
+            nodeYs[i] = Math.sin(i * 0.01);
+        }
+        slopes = new double[NODES - 1];
+        for (int i = 0; i < NODES - 1; i++) {
+            slopes[i] = (nodeYs[i + 1] - nodeYs[i]) / (nodeXs[i + 1] - nodeXs[i]);
+        }
+        // возрастающие точки внутри области, как при пакетном вычислении на сетке
+        Random random = new Random(42);
+        xs = new double[size];
+        segments = new int[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = (NODES - 1) * (i + random.nextDouble()) / size;
+            segments[i] = Math.min((int) xs[i], NODES - 2);
+        }
+        values = new double[size];
+    }
+
+    @Benchmark
+    public double[] interpolate() {
+        impl.interpolate(nodeXs, nodeYs, slopes, segments, xs, values, 0, size);
+        return values;
+    }
+
+    @Benchmark
+    public double trapezoidSum() {
+        return impl.trapezoidSum(xs, size);
+    }
+
+    @Benchmark
+    public double simpsonSum() {
+        return impl.simpsonSum(xs, size - 1);
+    }
+
+    @Benchmark
+    public double[] fillGrid() {
+        impl.fillGrid(0.5, 1e-3, size, values);
+        return values;
+    }
+}
@@ -1,17 +1,21 @@
 package functions;
 
 import java.io.*;
+import java.util.Arrays;
 
 public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable {
     private static final long serialVersionUID = 1L;
 
-    private FunctionPoint[] points;      // массив точек функции
+    // точки хранятся в двух параллельных массивах примитивов (без объекта на каждую точку)
+    private double[] xs;                 // координаты X точек (по возрастанию)
+    private double[] ys;                 // координаты Y точек
     private int pointsCount;             // текущее количество точек
     private static final double EPS = Math.ulp(1.0); // машинный эпсилон для сравнения double
 
-    // кэш последнего обращения
-    private transient int lastAccessedIndex = -1;      // индекс последней использованной точки
-    private transient FunctionPoint lastAccessedPoint = null; // последняя использованная точка
+    // шаг равномерной сетки по X или NaN, если сетка неравномерная;
+    // вычисляется лениво после изменения координат X (gridKnown = false)
+    private transient double gridStep = Double.NaN;
+    private transient boolean gridKnown = false;
 
     // ОБЯЗАТЕЛЬНЫЙ конструктор без параметров для Externalizable
     public ArrayTabulatedFunction() {
@@ -25,10 +29,11 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
             throw new IllegalArgumentException("Кол-во точек < 2");
 
         this.pointsCount = pointsCount;
-        points = new FunctionPoint[pointsCount];
+        xs = new double[pointsCount];
+        ys = new double[pointsCount]; // Y=0 для всех точек
         double step = (rightX - leftX) / (pointsCount - 1); // шаг по X между точками
-        for (int i = 0; i < pointsCount; i++)
-            points[i] = new FunctionPoint(leftX + i * step, 0); // создаем точки с Y=0
+        Function.fillGrid(leftX, step, pointsCount, xs);
+        setUniformGrid(step);
     }
 
     // конструктор 2: по массиву Y-значений
@@ -39,10 +44,11 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
             throw new IllegalArgumentException("Кол-во точек < 2");
 
         pointsCount = values.length;
-        points = new FunctionPoint[pointsCount];
+        xs = new double[pointsCount];
         double step = (rightX - leftX) / (pointsCount - 1); // шаг по X между точками
-        for (int i = 0; i < pointsCount; i++)
-            points[i] = new FunctionPoint(leftX + i * step, values[i]); // создаем точки с заданными Y
+        Function.fillGrid(leftX, step, pointsCount, xs);
+        setUniformGrid(step);
+        ys = values.clone(); // копирование для инкапсуляции
     }
 
     // новый конструктор: по массиву FunctionPoint
@@ -57,39 +63,126 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
         }
 
         this.pointsCount = pointsArray.length;
-        this.points = new FunctionPoint[pointsCount];
+        this.xs = new double[pointsCount];
+        this.ys = new double[pointsCount];
         for (int i = 0; i < pointsCount; i++) {
-            this.points[i] = new FunctionPoint(pointsArray[i]); // копирование для инкапсуляции
+            xs[i] = pointsArray[i].getX(); // копирование координат для инкапсуляции
+            ys[i] = pointsArray[i].getY();
         }
     }
 
+    // конструктор по массивам координат X и Y (массивы копируются)
+    public ArrayTabulatedFunction(double[] xValues, double[] yValues) {
+        if (xValues == null || yValues == null || xValues.length < 2)
+            throw new IllegalArgumentException("Массив точек пустой или содержит меньше 2 точек");
+        if (xValues.length != yValues.length)
+            throw new IllegalArgumentException("Длины массивов X и Y не совпадают");
+
+        // проверка сортировки по X
+        for (int i = 1; i < xValues.length; i++) {
+            if (!(xValues[i] > xValues[i - 1]))
+                throw new IllegalArgumentException("Массив точек не отсортирован по X");
+        }
+
+        this.pointsCount = xValues.length;
+        this.xs = xValues.clone();
+        this.ys = yValues.clone();
+    }
+
+    // доверенный конструктор: массивы уже отсортированы и проверены, берутся без копирования
+    private ArrayTabulatedFunction(double[] xValues, double[] yValues, int pointsCount) {
+        this.xs = xValues;
+        this.ys = yValues;
+        this.pointsCount = pointsCount;
+    }
+
+    // Создание функции по заведомо отсортированным массивам без повторной проверки и копирования.
+    // Массивы передаются во владение объекту, вызывающий код не должен их больше изменять.
+    public static ArrayTabulatedFunction fromSortedArrays(double[] xValues, double[] yValues) {
+        if (xValues.length < 2 || xValues.length != yValues.length)
+            throw new IllegalArgumentException("Некорректные длины массивов X и Y");
+        return new ArrayTabulatedFunction(xValues, yValues, xValues.length);
+    }
+
     public int getPointsCount() { return pointsCount; } // вернуть текущее количество точек
-    public double getLeftDomainBorder() { return points[0].getX(); } // левая граница области определения
-    public double getRightDomainBorder() { return points[pointsCount - 1].getX(); } // правая граница области определения
+    public double getLeftDomainBorder() { return xs[0]; } // левая граница области определения
+    public double getRightDomainBorder() { return xs[pointsCount - 1]; } // правая граница области определения
+
+    // копия координат X всех точек
+    public double[] getXValues() { return Arrays.copyOf(xs, pointsCount); }
+
+    // копия координат Y всех точек
+    public double[] getYValues() { return Arrays.copyOf(ys, pointsCount); }
 
     // получение значения функции в точке x (линейная интерполяция)
     public double getFunctionValue(double x) {
         if (x < getLeftDomainBorder() - EPS || x > getRightDomainBorder() + EPS)
             return Double.NaN; // x вне области определения
 
-        for (int i = 0; i < pointsCount - 1; i++) {
-            if (Math.abs(x - points[i].getX()) < EPS)
-                return points[i].getY(); // если совпадает с точкой, вернуть её Y
-
-            if (x > points[i].getX() - EPS && x < points[i + 1].getX() + EPS) {
-                // линейная интерполяция между соседними точками
-                double x1 = points[i].getX();
-                double x2 = points[i + 1].getX();
-                double y1 = points[i].getY();
-                double y2 = points[i + 1].getY();
-                return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
-            }
+        // отрезок [xs[i], xs[i + 1]], содержащий x: O(1) для равномерной сетки, иначе бинарный поиск
+        int i = GridLookup.findSegment(xs, pointsCount, getGridStep(), x);
+
+        if (Math.abs(x - xs[i]) < EPS)
+            return ys[i]; // если совпадает с точкой, вернуть её Y
+        if (Math.abs(x - xs[i + 1]) < EPS)
+            return ys[i + 1];
+
+        // линейная интерполяция между соседними точками
+        double x1 = xs[i];
+        double x2 = xs[i + 1];
+        double y1 = ys[i];
+        double y2 = ys[i + 1];
+        return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    }
+
+    // Пакетное вычисление через NumericKernels (векторно, если доступно);
+    // результат совпадает с getFunctionValue побитово
+    @Override
+    public void getFunctionValues(double[] xValues, double[] values, int count) {
+        Function.checkBatchBounds(xValues.length, values.length, count);
+        interpolate(xValues, values, count);
+    }
+
+    // Узлы сетки заполняются через NumericKernels.fillGrid, затем вычисляются "на месте"
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        Function.checkBatchBounds(count, values.length, count);
+        Kernels.CURRENT.fillGrid(start, step, count, values);
+        interpolate(values, values, count);
+    }
+
+    // Номера отрезков ищутся блоками, как в FrozenTabulatedFunction; наклоны не хранятся,
+    // поэтому используется вариант ядра с делением
+    private void interpolate(double[] xValues, double[] values, int count) {
+        NumericKernels kernels = Kernels.CURRENT;
+        double step = getGridStep();
+        int[] segments = GridLookup.segmentsBuffer();
+        int segment = 0;
+        for (int from = 0; from < count; from += segments.length) {
+            int n = Math.min(count - from, segments.length);
+            segment = GridLookup.findSegments(xs, pointsCount, step, xValues, from, n, segments, segment);
+            kernels.interpolate(xs, ys, pointsCount, segments, xValues, values, from, n);
         }
+    }
 
-        if (Math.abs(x - points[pointsCount - 1].getX()) < EPS)
-            return points[pointsCount - 1].getY(); // если совпадает с последней точкой
+    // шаг равномерной сетки (NaN для неравномерной), при необходимости определяется заново
+    private double getGridStep() {
+        if (!gridKnown) {
+            gridStep = GridLookup.detectUniformStep(xs, pointsCount);
+            gridKnown = true;
+        }
+        return gridStep;
+    }
 
-        return Double.NaN; // если x не найден
+    // сетка заведомо равномерная (конструкторы по границам)
+    private void setUniformGrid(double step) {
+        gridStep = step;
+        gridKnown = true;
+    }
+
+    // координаты X изменились - равномерность нужно проверить заново
+    private void invalidateGrid() {
+        gridKnown = false;
     }
 
     // проверка корректности индекса
@@ -98,76 +191,184 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
             throw new FunctionPointIndexOutOfBoundsException("Индекс" + index + "выходит за границы");
     }
 
-    // оптимизированный доступ к точке с использованием кэша
-    private FunctionPoint getCachedPoint(int index) {
-        checkIndex(index);
-        if (index == lastAccessedIndex && lastAccessedPoint != null)
-            return lastAccessedPoint; // вернуть кэшированную точку
-        lastAccessedIndex = index;
-        lastAccessedPoint = points[index]; // обновить кэш
-        return lastAccessedPoint;
+    // проверка, что X можно поставить в позицию index без нарушения порядка
+    private void checkOrder(int index, double x) throws InappropriateFunctionPointException {
+        if ((index > 0 && x <= xs[index - 1]) ||
+                (index < pointsCount - 1 && x >= xs[index + 1]))
+            throw new InappropriateFunctionPointException("X вне порядка"); // проверка порядка X
     }
 
     public FunctionPoint getPoint(int index) {
-        return new FunctionPoint(getCachedPoint(index)); // вернуть копию точки
+        checkIndex(index);
+        return new FunctionPoint(xs[index], ys[index]); // вернуть копию точки
     }
 
     public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
         checkIndex(index);
-        double x = point.getX();
-        if ((index > 0 && x <= points[index - 1].getX()) ||
-                (index < pointsCount - 1 && x >= points[index + 1].getX()))
-            throw new InappropriateFunctionPointException("X вне порядка"); // проверка порядка X
-        points[index] = new FunctionPoint(point); // заменить точку
-        lastAccessedIndex = index; // обновить кэш
-        lastAccessedPoint = points[index];
+        checkOrder(index, point.getX());
+        xs[index] = point.getX(); // заменить точку
+        ys[index] = point.getY();
+        invalidateGrid();
     }
 
-    public double getPointX(int index) { return getCachedPoint(index).getX(); } // получить X точки
-    public double getPointY(int index) { return getCachedPoint(index).getY(); } // получить Y точки
+    public double getPointX(int index) { checkIndex(index); return xs[index]; } // получить X точки
+    public double getPointY(int index) { checkIndex(index); return ys[index]; } // получить Y точки
 
     public void setPointX(int index, double x) throws InappropriateFunctionPointException {
         checkIndex(index);
-        if ((index > 0 && x <= points[index - 1].getX()) ||
-                (index < pointsCount - 1 && x >= points[index + 1].getX()))
-            throw new InappropriateFunctionPointException("Х вне порядка"); // проверка порядка X
-        points[index].setX(x); // установить новое X
-        lastAccessedIndex = index; // обновить кэш
-        lastAccessedPoint = points[index];
+        checkOrder(index, x);
+        xs[index] = x; // установить новое X
+        invalidateGrid();
     }
 
     public void setPointY(int index, double y) {
         checkIndex(index);
-        points[index].setY(y); // установить новое Y
-        lastAccessedIndex = index; // обновить кэш
-        lastAccessedPoint = points[index];
+        ys[index] = y; // установить новое Y
+    }
+
+    // Ёмкость массивов: не меньше minCapacity точек без перевыделения памяти
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > xs.length) {
+            // рост в полтора раза: добавление n точек по одной - O(n) копирований в сумме
+            int capacity = Math.max(minCapacity, xs.length + (xs.length >> 1));
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+    }
+
+    // Освобождение неиспользуемой ёмкости массивов
+    public void trimToSize() {
+        if (xs.length > pointsCount) {
+            xs = Arrays.copyOf(xs, pointsCount);
+            ys = Arrays.copyOf(ys, pointsCount);
+        }
+    }
+
+    // индекс первой точки с X >= x (pointsCount, если таких нет)
+    private int lowerBound(double x) {
+        int lo = 0;
+        int hi = pointsCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[mid] < x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
     }
 
     // добавление новой точки
     public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
-        for (int i = 0; i < pointsCount; i++)
-            if (Math.abs(points[i].getX() - point.getX()) < EPS)
-                throw new InappropriateFunctionPointException("дубликат Х"); // проверка на дублирование X
-
-        if (pointsCount == points.length) {
-            // расширение массива при необходимости
-            FunctionPoint[] newPoints = new FunctionPoint[pointsCount + 1];
-            System.arraycopy(points, 0, newPoints, 0, pointsCount);
-            points = newPoints;
-        }
+        double x = point.getX();
+        // позиция вставки бинарным поиском; дубликат может быть только среди двух соседей
+        int index = lowerBound(x);
+        if ((index > 0 && Math.abs(xs[index - 1] - x) < EPS) ||
+                (index < pointsCount && Math.abs(xs[index] - x) < EPS))
+            throw new InappropriateFunctionPointException("дубликат Х"); // проверка на дублирование X
 
-        // найти позицию для вставки
-        int index = 0;
-        while (index < pointsCount && points[index].getX() < point.getX())
-            index++;
+        ensureCapacity(pointsCount + 1); // расширение массивов при необходимости
 
         // сдвинуть точки вправо для вставки
-        System.arraycopy(points, index, points, index + 1, pointsCount - index);
-        points[index] = new FunctionPoint(point); // вставить точку
+        System.arraycopy(xs, index, xs, index + 1, pointsCount - index);
+        System.arraycopy(ys, index, ys, index + 1, pointsCount - index);
+        xs[index] = x; // вставить точку
+        ys[index] = point.getY();
         pointsCount++;
+        invalidateGrid();
+    }
+
+    // Добавление набора точек за один проход: точки сортируются по X и сливаются с имеющимися
+    // за O(n + m log m) вместо m вставок со сдвигом массивов.
+    // Если хоть одна точка дублирует X (имеющейся или другой добавляемой точки), функция не меняется.
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        double[] xValues = new double[points.length];
+        double[] yValues = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            xValues[i] = points[i].getX();
+            yValues[i] = points[i].getY();
+        }
+        mergePoints(xValues, yValues);
+    }
 
-        lastAccessedIndex = index; // обновить кэш
-        lastAccessedPoint = points[index];
+    // То же по массивам координат (массивы не изменяются)
+    public void addPoints(double[] xValues, double[] yValues) throws InappropriateFunctionPointException {
+        if (xValues.length != yValues.length)
+            throw new IllegalArgumentException("Длины массивов X и Y не совпадают");
+        mergePoints(xValues.clone(), yValues.clone());
+    }
+
+    // слияние добавляемых точек (массивы принадлежат методу) с имеющимися
+    private void mergePoints(double[] addX, double[] addY) throws InappropriateFunctionPointException {
+        int m = addX.length;
+        if (m == 0) return;
+        for (double x : addX) {
+            if (Double.isNaN(x))
+                throw new InappropriateFunctionPointException("X не является числом");
+        }
+        sortByX(addX, addY, m);
+        for (int j = 1; j < m; j++) {
+            if (addX[j] - addX[j - 1] < EPS)
+                throw new InappropriateFunctionPointException("дубликат Х");
+        }
+
+        // слияние в новые массивы: при ошибке старые остаются нетронутыми
+        int count = pointsCount + m;
+        int capacity = Math.max(count, xs.length + (xs.length >> 1));
+        double[] mergedX = new double[capacity];
+        double[] mergedY = new double[capacity];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < pointsCount && j < m) {
+            if (Math.abs(xs[i] - addX[j]) < EPS)
+                throw new InappropriateFunctionPointException("дубликат Х");
+            if (xs[i] < addX[j]) {
+                mergedX[k] = xs[i];
+                mergedY[k++] = ys[i++];
+            } else {
+                mergedX[k] = addX[j];
+                mergedY[k++] = addY[j++];
+            }
+        }
+        System.arraycopy(xs, i, mergedX, k, pointsCount - i);
+        System.arraycopy(ys, i, mergedY, k, pointsCount - i);
+        k += pointsCount - i;
+        System.arraycopy(addX, j, mergedX, k, m - j);
+        System.arraycopy(addY, j, mergedY, k, m - j);
+
+        xs = mergedX;
+        ys = mergedY;
+        pointsCount = count;
+        invalidateGrid();
+    }
+
+    // сортировка пар (x, y) по x слиянием; уже упорядоченный набор проверяется за O(m)
+    private static void sortByX(double[] x, double[] y, int count) {
+        boolean sorted = true;
+        for (int i = 1; i < count && sorted; i++) {
+            sorted = x[i - 1] <= x[i];
+        }
+        if (sorted) return;
+        double[] bufferX = new double[count];
+        double[] bufferY = new double[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int left = 0; left < count; left += 2 * width) {
+                int middle = Math.min(left + width, count);
+                int right = Math.min(left + 2 * width, count);
+                int i = left;
+                int j = middle;
+                for (int k = left; k < right; k++) {
+                    if (i < middle && (j >= right || x[i] <= x[j])) {
+                        bufferX[k] = x[i];
+                        bufferY[k] = y[i++];
+                    } else {
+                        bufferX[k] = x[j];
+                        bufferY[k] = y[j++];
+                    }
+                }
+            }
+            System.arraycopy(bufferX, 0, x, 0, count);
+            System.arraycopy(bufferY, 0, y, 0, count);
+        }
     }
 
     // удаление точки
@@ -177,11 +378,45 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
             throw new IllegalStateException("удаление невозможно: кол-во точек < 3"); // минимальное количество точек
 
         // сдвинуть оставшиеся точки влево
-        System.arraycopy(points, index + 1, points, index, pointsCount - index - 1);
+        System.arraycopy(xs, index + 1, xs, index, pointsCount - index - 1);
+        System.arraycopy(ys, index + 1, ys, index, pointsCount - index - 1);
         pointsCount--;
+        invalidateGrid();
+    }
 
-        lastAccessedIndex = -1; // сброс кэша
-        lastAccessedPoint = null;
+    // Удаление набора точек по индексам (в любом порядке, повторы не учитываются) за один проход
+    // вместо сдвига массивов на каждое удаление. Индексы относятся к функции до удаления.
+    public void deletePoints(int[] indices) {
+        int[] sorted = indices.clone();
+        Arrays.sort(sorted);
+        int removed = 0;
+        for (int j = 0; j < sorted.length; j++) {
+            checkIndex(sorted[j]);
+            if (j == 0 || sorted[j] != sorted[j - 1]) removed++;
+        }
+        if (removed == 0) return;
+        if (pointsCount - removed < 2)
+            throw new IllegalStateException("удаление невозможно: останется меньше 2 точек");
+
+        // уплотнение: оставшиеся точки переносятся на свои новые места
+        int k = sorted[0];
+        int j = 0;
+        for (int i = sorted[0]; i < pointsCount; i++) {
+            if (j < sorted.length && sorted[j] == i) {
+                while (j < sorted.length && sorted[j] == i) j++;
+                continue;
+            }
+            xs[k] = xs[i];
+            ys[k++] = ys[i];
+        }
+        pointsCount = k;
+        invalidateGrid();
+    }
+
+    // неизменяемая копия без обхода точек через getPointX/getPointY
+    @Override
+    public FrozenTabulatedFunction freeze() {
+        return new FrozenTabulatedFunction(Arrays.copyOf(xs, pointsCount), Arrays.copyOf(ys, pointsCount));
     }
 
     // Реализация Externalizable
@@ -189,34 +424,26 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
     public void writeExternal(ObjectOutput out) throws IOException {
         out.writeInt(pointsCount);
         for (int i = 0; i < pointsCount; i++) {
-            out.writeDouble(points[i].getX());
-            out.writeDouble(points[i].getY());
+            out.writeDouble(xs[i]);
+            out.writeDouble(ys[i]);
         }
     }
 
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
         pointsCount = in.readInt();
-        points = new FunctionPoint[pointsCount];
+        xs = new double[pointsCount];
+        ys = new double[pointsCount];
         for (int i = 0; i < pointsCount; i++) {
-            double x = in.readDouble();
-            double y = in.readDouble();
-            points[i] = new FunctionPoint(x, y);
+            xs[i] = in.readDouble();
+            ys[i] = in.readDouble();
         }
+        invalidateGrid();
     }
 
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
-        for (int i = 0; i < pointsCount; i++) {
-            sb.append(points[i].toString()); // используем toString() точки
-            if (i < pointsCount - 1) {
-                sb.append(", ");
-            }
-        }
-        sb.append("}");
-        return sb.toString();
+        return TabulatedPoints.toString(xs, ys, pointsCount); // формат как у FunctionPoint.toString()
     }
 
     @Override
@@ -224,76 +451,37 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
         if (this == o) return true;
         if (o == null || !(o instanceof TabulatedFunction)) return false;
 
-        TabulatedFunction that = (TabulatedFunction) o;
-
-        // Проверка количества точек
-        if (this.getPointsCount() != that.getPointsCount()) return false;
-
-        // Оптимизация для ArrayTabulatedFunction
+        // Оптимизация для ArrayTabulatedFunction: прямое сравнение массивов
         if (o instanceof ArrayTabulatedFunction) {
             ArrayTabulatedFunction other = (ArrayTabulatedFunction) o;
-            for (int i = 0; i < pointsCount; i++) {
-                // Используем getPoint() вместо прямого доступа к points[i]
-                if (!this.getPoint(i).equals(other.getPoint(i))) {
-                    return false;
-                }
-            }
-        }
-        // Оптимизация для LinkedListTabulatedFunction
-        else if (o instanceof LinkedListTabulatedFunction) {
-            LinkedListTabulatedFunction other = (LinkedListTabulatedFunction) o;
-            for (int i = 0; i < pointsCount; i++) {
-                // Используем getPoint() для обеих функций
-                if (!this.getPoint(i).equals(other.getPoint(i))) {
-                    return false;
-                }
-            }
-        } else {
-            // Общий случай для любого TabulatedFunction
-            for (int i = 0; i < pointsCount; i++) {
-                FunctionPoint thisPoint = this.getPoint(i);
-                FunctionPoint thatPoint = that.getPoint(i);
-                if (!thisPoint.equals(thatPoint)) {
-                    return false;
-                }
-            }
+            return pointsCount == other.pointsCount &&
+                    Arrays.equals(xs, 0, pointsCount, other.xs, 0, pointsCount) &&
+                    Arrays.equals(ys, 0, pointsCount, other.ys, 0, pointsCount);
         }
 
-        return true;
+        // Общий случай для любого TabulatedFunction (в т.ч. LinkedListTabulatedFunction)
+        return TabulatedPoints.equals(xs, ys, pointsCount, (TabulatedFunction) o);
     }
 
     // Переопределение метода hashCode()
     @Override
     public int hashCode() {
-        int hash = pointsCount; // включаем количество точек в хэш
-
-        for (int i = 0; i < pointsCount; i++) {
-            hash ^= points[i].hashCode(); // XOR с хэш-кодом каждой точки
-        }
-
-        return hash;
+        // тот же хэш, что у FunctionPoint, чтобы совпадать с другими реализациями
+        return TabulatedPoints.hashCode(xs, ys, pointsCount);
     }
 
     // Переопределение метода clone()
     @Override
     public Object clone() {
-        // Глубокое клонирование
-        FunctionPoint[] clonedPoints = new FunctionPoint[pointsCount];
-        for (int i = 0; i < pointsCount; i++) {
-            clonedPoints[i] = (FunctionPoint) points[i].clone(); // клонируем каждую точку
-        }
-
+        // Глубокое клонирование: копируются только массивы примитивов
         try {
             ArrayTabulatedFunction clone = (ArrayTabulatedFunction) super.clone();
-            clone.points = clonedPoints;
-            clone.pointsCount = this.pointsCount;
-            // transient поля сбрасываем
-            clone.lastAccessedIndex = -1;
-            clone.lastAccessedPoint = null;
+            clone.xs = Arrays.copyOf(xs, pointsCount);
+            clone.ys = Arrays.copyOf(ys, pointsCount);
             return clone;
         } catch (CloneNotSupportedException e) {
-            // fallback - создаем через конструктор
-            return new ArrayTabulatedFunction(clonedPoints);
+            // fallback - создаем через доверенный конструктор
+            return new ArrayTabulatedFunction(Arrays.copyOf(xs, pointsCount), Arrays.copyOf(ys, pointsCount), pointsCount);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,306 @@
+package functions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+// Двоичный формат файла табулированной функции (версия 1).
+//
+// Заголовок, 40 байт:
+//   0  4 байта  сигнатура "TABF"
+//   4  1 байт   порядок байтов данных: 0 - big-endian, 1 - little-endian
+//   5  1 байт   версия формата
+//   6  1 байт   флаги: бит 0 - равномерная сетка по X
+//   7  1 байт   резерв (0)
+//   8  int      количество точек
+//   12 int      резерв (0)
+//   16 long     CRC32C данных после заголовка
+//   24 double   левая граница X
+//   32 double   правая граница X
+// Поля с 8-го байта и данные записаны в указанном порядке байтов.
+// Данные: для равномерной сетки - только Y[count] (X = left + i * (right - left) / (count - 1)),
+// иначе X[count], затем Y[count]. Равномерной сетка записывается, только если все X совпадают
+// с этой формулой побитово, поэтому чтение всегда восстанавливает точки без потерь.
+final class BinaryTabulatedFormat {
+    static final int HEADER_SIZE = 40;
+    static final int VERSION = 1;
+    private static final byte[] MAGIC = {'T', 'A', 'B', 'F'};
+    private static final int FLAG_UNIFORM = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private BinaryTabulatedFormat() {} // запрет на создание объектов
+
+    // Запись функции в файл (файл создаётся или перезаписывается)
+    static void write(TabulatedFunction function, Path path) throws IOException {
+        int count = function.getPointsCount();
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = function.getPointX(i);
+            ys[i] = function.getPointY(i);
+        }
+        double left = xs[0];
+        double right = xs[count - 1];
+        boolean uniform = isExactGrid(xs, count);
+        ByteOrder order = ByteOrder.nativeOrder();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32C crc = new CRC32C();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(order);
+            channel.position(HEADER_SIZE);
+            if (!uniform) {
+                writeColumn(channel, buffer, crc, xs, count);
+            }
+            writeColumn(channel, buffer, crc, ys, count);
+
+            // заголовок пишется последним, когда известна контрольная сумма
+            writeHeader(channel, order, uniform, count, crc.getValue(), left, right);
+        }
+    }
+
+    private static void writeHeader(FileChannel channel, ByteOrder order, boolean uniform, int count,
+                                    long checksum, double left, double right) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.put(MAGIC);
+        header.put((byte) (order == ByteOrder.LITTLE_ENDIAN ? 1 : 0));
+        header.put((byte) VERSION);
+        header.put((byte) (uniform ? FLAG_UNIFORM : 0));
+        header.put((byte) 0);
+        header.order(order);
+        header.putInt(count).putInt(0).putLong(checksum).putDouble(left).putDouble(right);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    // Чтение файла в ArrayTabulatedFunction (точки копируются в память)
+    static ArrayTabulatedFunction read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            Columns columns = mapColumns(channel, header, true);
+
+            int count = header.count;
+            double[] xs = new double[count];
+            double[] ys = new double[count];
+            if (columns.xs == null) {
+                Function.fillGrid(header.left, header.step(), count, xs);
+            } else {
+                columns.xs.get(xs);
+            }
+            columns.ys.get(ys);
+            checkSorted(xs, count);
+            return ArrayTabulatedFunction.fromSortedArrays(xs, ys);
+        }
+    }
+
+    // Отображение файла в память без копирования точек.
+    // verifyChecksum - проверять ли CRC32C (требует одного полного прохода по данным).
+    static MappedTabulatedFunction map(Path path, boolean verifyChecksum) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            Columns columns = mapColumns(channel, header, verifyChecksum);
+            // отображение остаётся действительным после закрытия канала
+            return new MappedTabulatedFunction(columns.xs, columns.ys, header.count, header.left, header.right);
+        }
+    }
+
+    // Приёмник потокового табулирования, записывающий файл с равномерной сеткой:
+    // точки приходят по порядку, поэтому пишется только столбец Y, а заголовок - в finish
+    static TabulationSink sink(Path path) {
+        return new UniformSink(path);
+    }
+
+    private static final class UniformSink implements TabulationSink {
+        private final Path path;
+        private FileChannel channel;
+        private ByteBuffer buffer;
+        private CRC32C crc;
+        private double left;
+        private double right;
+        private double step;
+        private int count;
+        private int written;
+
+        UniformSink(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        public void start(double leftX, double rightX, long pointsCount) throws IOException {
+            if (pointsCount < 2 || pointsCount > Integer.MAX_VALUE)
+                throw new IOException("Количество точек вне диапазона формата: " + pointsCount);
+            left = leftX;
+            right = rightX;
+            count = (int) pointsCount;
+            step = (right - left) / (count - 1);
+            written = 0;
+            crc = new CRC32C();
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.nativeOrder());
+            channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            channel.position(HEADER_SIZE);
+        }
+
+        @Override
+        public void accept(double[] xs, double[] ys, int length) throws IOException {
+            if (length > count - written)
+                throw new IOException("Получено больше точек, чем объявлено");
+            // X не хранятся, поэтому должны совпадать с формулой чтения побитово
+            for (int i = 0; i < length; i++) {
+                if (Double.doubleToLongBits(xs[i]) != Double.doubleToLongBits(left + (written + i) * step))
+                    throw new IOException("Точки не лежат на равномерной сетке");
+            }
+            writeColumn(channel, buffer, crc, ys, length);
+            written += length;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            try {
+                if (written != count)
+                    throw new IOException("Получено " + written + " точек из " + count);
+                writeHeader(channel, ByteOrder.nativeOrder(), true, count, crc.getValue(), left, right);
+            } finally {
+                channel.close();
+            }
+        }
+
+        @Override
+        public void abort() {
+            try {
+                channel.close();
+            } catch (IOException | RuntimeException ignored) {
+                // файл всё равно неполон и будет отвергнут при чтении
+            }
+        }
+    }
+
+    // Отображение столбцов X (null для равномерной сетки) и Y; каждый столбец - отдельное
+    // отображение, поэтому предел в 2 ГБ действует на столбец, а не на весь файл
+    private static Columns mapColumns(FileChannel channel, Header header, boolean verifyChecksum) throws IOException {
+        long columnSize = (long) header.count * Double.BYTES;
+        if (columnSize > Integer.MAX_VALUE)
+            throw new IOException("Столбец точек больше 2 ГБ не поддерживается");
+
+        CRC32C crc = new CRC32C();
+        Columns columns = new Columns();
+        long offset = HEADER_SIZE;
+        if (!header.uniform) {
+            MappedByteBuffer xColumn = channel.map(FileChannel.MapMode.READ_ONLY, offset, columnSize);
+            if (verifyChecksum) crc.update(xColumn.duplicate());
+            columns.xs = xColumn.order(header.order).asDoubleBuffer();
+            offset += columnSize;
+        }
+        MappedByteBuffer yColumn = channel.map(FileChannel.MapMode.READ_ONLY, offset, columnSize);
+        if (verifyChecksum) crc.update(yColumn.duplicate());
+        columns.ys = yColumn.order(header.order).asDoubleBuffer();
+
+        if (verifyChecksum && crc.getValue() != header.checksum)
+            throw new IOException("Контрольная сумма файла табулированной функции не совпадает");
+        return columns;
+    }
+
+    // X совпадают с left + i * step побитово - сетку можно не хранить
+    private static boolean isExactGrid(double[] xs, int count) {
+        double step = (xs[count - 1] - xs[0]) / (count - 1);
+        for (int i = 0; i < count; i++) {
+            if (Double.doubleToLongBits(xs[i]) != Double.doubleToLongBits(xs[0] + i * step))
+                return false;
+        }
+        return true;
+    }
+
+    private static void writeColumn(FileChannel channel, ByteBuffer buffer, CRC32C crc,
+                                    double[] column, int count) throws IOException {
+        int perBuffer = buffer.capacity() / Double.BYTES;
+        for (int start = 0; start < count; start += perBuffer) {
+            int length = Math.min(perBuffer, count - start);
+            buffer.clear();
+            buffer.asDoubleBuffer().put(column, start, length);
+            buffer.limit(length * Double.BYTES);
+            crc.update(buffer);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0)
+                throw new IOException("Файл табулированной функции короче заголовка");
+        }
+        buffer.flip();
+        for (byte b : MAGIC) {
+            if (buffer.get() != b)
+                throw new IOException("Неверная сигнатура файла табулированной функции");
+        }
+        byte orderFlag = buffer.get();
+        int version = buffer.get();
+        int flags = buffer.get();
+        buffer.get(); // резерв
+        if (version != VERSION)
+            throw new IOException("Неподдерживаемая версия формата: " + version);
+        if (orderFlag != 0 && orderFlag != 1)
+            throw new IOException("Неверный признак порядка байтов: " + orderFlag);
+
+        Header header = new Header();
+        header.order = orderFlag == 1 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+        buffer.order(header.order);
+        header.uniform = (flags & FLAG_UNIFORM) != 0;
+        header.count = buffer.getInt();
+        buffer.getInt(); // резерв
+        header.checksum = buffer.getLong();
+        header.left = buffer.getDouble();
+        header.right = buffer.getDouble();
+
+        if (header.count < 2)
+            throw new IOException("Количество точек в файле < 2");
+        if (!(header.left < header.right))
+            throw new IOException("Неверные границы области определения в файле");
+        if (channel.size() != HEADER_SIZE + header.payloadSize())
+            throw new IOException("Размер файла не соответствует заголовку");
+        return header;
+    }
+
+    private static void checkSorted(double[] xs, int count) throws IOException {
+        for (int i = 1; i < count; i++) {
+            if (!(xs[i] > xs[i - 1]))
+                throw new IOException("Точки в файле не упорядочены по X");
+        }
+    }
+
+    // Отображённые столбцы данных
+    private static final class Columns {
+        DoubleBuffer xs;
+        DoubleBuffer ys;
+    }
+
+    // Разобранный заголовок файла
+    private static final class Header {
+        ByteOrder order;
+        boolean uniform;
+        int count;
+        long checksum;
+        double left;
+        double right;
+
+        long payloadSize() {
+            return (long) count * Double.BYTES * (uniform ? 1 : 2);
+        }
+
+        double step() {
+            return (right - left) / (count - 1);
+        }
+    }
+}
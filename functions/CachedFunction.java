@@ -0,0 +1,163 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+// Декоратор, запоминающий значения дорогой функции для недавно встречавшихся x.
+// Кэш ограничен по размеру и не создаёт объектов при обращениях: ключи и значения хранятся
+// в массивах примитивов. Таблица разбита на независимые сегменты со своей блокировкой,
+// поэтому её можно разделять между несколькими потоками Integrator.
+// Внутри сегмента - множественно-ассоциативная открытая адресация: x попадает в корзину
+// из WAYS ячеек, при промахе ячейка для замены выбирается по алгоритму "часы" (clock).
+public class CachedFunction implements Function {
+    private static final int WAYS = 4;       // ячеек в корзине
+    private static final int MAX_STRIPES = 64;
+
+    private static final byte EMPTY = 0;
+    private static final byte PRESENT = 1;    // занята, не использовалась с прошлого прохода часов
+    private static final byte REFERENCED = 2; // занята и недавно использовалась
+
+    private final Function function;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int bucketMask;             // корзин в сегменте - 1
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachedFunction(Function function, int capacity) {
+        if (capacity < WAYS) {
+            throw new IllegalArgumentException("Ёмкость кэша должна быть не меньше " + WAYS);
+        }
+        this.function = function;
+
+        // число сегментов и корзин - степени двойки; ёмкость не меньше заданной
+        int buckets = Integer.highestOneBit((capacity + WAYS - 1) / WAYS);
+        if (buckets * WAYS < capacity) buckets <<= 1;
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(buckets));
+        int bucketsPerStripe = buckets / stripeCount;
+
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(bucketsPerStripe * WAYS);
+        }
+        this.stripeMask = stripeCount - 1;
+        this.bucketMask = bucketsPerStripe - 1;
+    }
+
+    public double getLeftDomainBorder() {
+        return function.getLeftDomainBorder();
+    }
+
+    public double getRightDomainBorder() {
+        return function.getRightDomainBorder();
+    }
+
+    public double getFunctionValue(double x) {
+        long key = Double.doubleToLongBits(x);
+        int hash = mix(key);
+        Stripe stripe = stripes[hash & stripeMask];
+        int bucket = ((hash >>> 6) & bucketMask) * WAYS;
+
+        synchronized (stripe) {
+            for (int i = bucket; i < bucket + WAYS; i++) {
+                if (stripe.states[i] != EMPTY && stripe.keys[i] == key) {
+                    stripe.states[i] = REFERENCED;
+                    hits.increment();
+                    return stripe.values[i];
+                }
+            }
+        }
+
+        // значение вычисляется вне блокировки, чтобы не задерживать другие потоки
+        misses.increment();
+        double value = function.getFunctionValue(x);
+        synchronized (stripe) {
+            stripe.put(bucket, key, value);
+        }
+        return value;
+    }
+
+    // Вместимость кэша (число ячеек)
+    public int getCapacity() {
+        return stripes.length * stripes[0].keys.length;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    // доля попаданий среди всех обращений (NaN, если обращений не было)
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? Double.NaN : (double) hitCount / total;
+    }
+
+    // сброс счётчиков попаданий и промахов
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    // очистка кэша
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Arrays.fill(stripe.states, EMPTY);
+            }
+        }
+    }
+
+    // перемешивание битов ключа (финализатор MurmurHash3)
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    // Сегмент кэша: параллельные массивы ключей, значений и состояний ячеек
+    private static final class Stripe {
+        final long[] keys;
+        final double[] values;
+        final byte[] states;
+        final int[] hands; // положение "стрелки часов" для каждой корзины
+
+        Stripe(int size) {
+            keys = new long[size];
+            values = new double[size];
+            states = new byte[size];
+            hands = new int[size / WAYS];
+        }
+
+        // вставка в корзину, начинающуюся с ячейки bucket; вызывается под блокировкой сегмента
+        void put(int bucket, long key, double value) {
+            for (int i = bucket; i < bucket + WAYS; i++) {
+                if (states[i] == EMPTY || keys[i] == key) {
+                    store(i, key, value); // свободная ячейка или значение уже добавлено другим потоком
+                    return;
+                }
+            }
+            // "часы": недавно использованные ячейки получают второй шанс
+            int hand = hands[bucket / WAYS];
+            while (states[bucket + hand] == REFERENCED) {
+                states[bucket + hand] = PRESENT;
+                hand = (hand + 1) % WAYS;
+            }
+            store(bucket + hand, key, value);
+            hands[bucket / WAYS] = (hand + 1) % WAYS;
+        }
+
+        private void store(int i, long key, double value) {
+            keys[i] = key;
+            values[i] = value;
+            states[i] = PRESENT;
+        }
+    }
+}
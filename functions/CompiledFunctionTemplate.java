@@ -0,0 +1,59 @@
+package functions;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+// Шаблон скомпилированной функции. FunctionCompiler определяет по байт-коду этого класса отдельный
+// скрытый класс на каждое дерево (Lookup.defineHiddenClassWithClassData), и составной MethodHandle
+// дерева попадает в static final поле HANDLE. Для JIT такое поле - константа, поэтому invokeExact
+// встраивается в getFunctionValue и в циклы пакетных методов одним телом.
+// Сам шаблон как обычный класс не загружается: его байт-код читается как ресурс.
+final class CompiledFunctionTemplate extends FunctionCompiler.CompiledFunction {
+    private static final MethodHandle HANDLE;
+
+    static {
+        try {
+            HANDLE = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    CompiledFunctionTemplate(Function source, MethodHandle handle) {
+        super(source, handle);
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        try {
+            return (double) HANDLE.invokeExact(x);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        Function.checkBatchBounds(xs.length, values.length, count);
+        try {
+            for (int i = 0; i < count; i++) {
+                values[i] = (double) HANDLE.invokeExact(xs[i]);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        Function.checkBatchBounds(count, values.length, count);
+        try {
+            for (int i = 0; i < count; i++) {
+                values[i] = (double) HANDLE.invokeExact(start + i * step);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+}
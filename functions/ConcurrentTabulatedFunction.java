@@ -0,0 +1,136 @@
+package functions;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Потокобезопасная табулированная функция для частого чтения и редкого изменения
+// (много потоков Integrator читают таблицу, которую изредка правит один поток).
+//
+// Точки хранятся в неизменяемом снимке FrozenTabulatedFunction; ссылка на текущий снимок - volatile.
+// Чтение берёт ссылку один раз и дальше работает с неизменяемыми массивами: читатели не блокируются,
+// не повторяют попыток и ничего не записывают в общую память, поэтому не мешают друг другу.
+// Изменение копирует точки, применяет правки и публикует новый снимок одной записью ссылки
+// (copy-on-write); писатели выстраиваются в очередь на блокировке.
+// Одиночные методы изменения (setPoint, addPoint, ...) копируют таблицу каждый раз; несколько правок
+// лучше объединять в update - они копируют таблицу один раз и публикуются атомарно, все вместе или никак.
+//
+// Между двумя вызовами другой поток может опубликовать новый снимок (например, удалить точку
+// между getPointsCount и getPointX); для согласованного чтения нескольких точек служит freeze -
+// он возвращает текущий снимок без копирования.
+public class ConcurrentTabulatedFunction implements TabulatedFunction {
+    private volatile FrozenTabulatedFunction snapshot;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Копия точек произвольной табулированной функции
+    public ConcurrentTabulatedFunction(TabulatedFunction source) {
+        this.snapshot = source.freeze();
+    }
+
+    // Пакет правок, публикуемых атомарно: edit получает изменяемую копию таблицы.
+    // Если edit выбрасывает исключение, опубликованная таблица не меняется.
+    public void update(Consumer<ArrayTabulatedFunction> edit) {
+        writeLock.lock();
+        try {
+            ArrayTabulatedFunction copy = snapshot.toArrayTabulatedFunction();
+            edit.accept(copy);
+            snapshot = copy.freeze();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Текущий снимок: согласованное неизменяемое состояние таблицы, без копирования
+    @Override
+    public FrozenTabulatedFunction freeze() {
+        return snapshot;
+    }
+
+    // ЧТЕНИЕ (каждый вызов читает ссылку на снимок один раз)
+
+    public int getPointsCount() {
+        return snapshot.getPointsCount();
+    }
+
+    public double getLeftDomainBorder() {
+        return snapshot.getLeftDomainBorder();
+    }
+
+    public double getRightDomainBorder() {
+        return snapshot.getRightDomainBorder();
+    }
+
+    public double getFunctionValue(double x) {
+        return snapshot.getFunctionValue(x);
+    }
+
+    // Пакетные вычисления идут по одному снимку: все значения пакета - от одной версии таблицы
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        snapshot.getFunctionValues(xs, values, count);
+    }
+
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        snapshot.getFunctionValues(start, step, count, values);
+    }
+
+    public FunctionPoint getPoint(int index) {
+        return snapshot.getPoint(index);
+    }
+
+    public double getPointX(int index) {
+        return snapshot.getPointX(index);
+    }
+
+    public double getPointY(int index) {
+        return snapshot.getPointY(index);
+    }
+
+    // ИЗМЕНЕНИЕ (каждый вызов - отдельная публикация)
+
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        update(f -> f.setPoint(index, point));
+    }
+
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        update(f -> f.setPointX(index, x));
+    }
+
+    public void setPointY(int index, double y) {
+        update(f -> f.setPointY(index, y));
+    }
+
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        update(f -> f.addPoint(point));
+    }
+
+    public void deletePoint(int index) {
+        update(f -> f.deletePoint(index));
+    }
+
+    @Override
+    public String toString() {
+        return snapshot.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o instanceof ConcurrentTabulatedFunction) {
+            return snapshot.equals(((ConcurrentTabulatedFunction) o).snapshot);
+        }
+        return snapshot.equals(o);
+    }
+
+    // хэш снимка вычислен при публикации
+    @Override
+    public int hashCode() {
+        return snapshot.hashCode();
+    }
+
+    // Снимок неизменяем, поэтому копия разделяет его с оригиналом; дальше они меняются независимо
+    @Override
+    public Object clone() {
+        return new ConcurrentTabulatedFunction(snapshot);
+    }
+}
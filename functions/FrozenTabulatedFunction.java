@@ -0,0 +1,169 @@
+package functions;
+
+import java.util.Arrays;
+
+// Неизменяемая табулированная функция - "замороженная" копия другой (TabulatedFunction.freeze()).
+//
+// Точки хранятся в массивах примитивов, все поля final: объект можно передавать между потоками
+// и хранить в кэшах без блокировок и без защитных копий (clone возвращает тот же объект).
+// Чтение ничего не записывает: наклоны отрезков, шаг равномерной сетки, границы области
+// определения и хэш вычисляются один раз при создании.
+// Интерполяция y1 + slope * (x - x1) может отличаться от исходной функции в последнем знаке.
+// Методы изменения точек выбрасывают UnsupportedOperationException.
+public final class FrozenTabulatedFunction implements TabulatedFunction {
+    private static final double EPS = Math.ulp(1.0); // машинный эпсилон, как у ArrayTabulatedFunction
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] slopes;     // slopes[i] - наклон отрезка [xs[i], xs[i + 1]]
+    private final double gridStep;     // шаг равномерной сетки или NaN
+    private final double leftX;
+    private final double rightX;
+    private final int hash;
+
+    // массивы упорядочены и передаются во владение объекту
+    FrozenTabulatedFunction(double[] xs, double[] ys) {
+        int count = xs.length;
+        this.xs = xs;
+        this.ys = ys;
+        this.slopes = new double[count - 1];
+        for (int i = 0; i < count - 1; i++) {
+            slopes[i] = (ys[i + 1] - ys[i]) / (xs[i + 1] - xs[i]);
+        }
+        this.gridStep = GridLookup.detectUniformStep(xs, count);
+        this.leftX = xs[0];
+        this.rightX = xs[count - 1];
+
+        // тот же хэш, что у ArrayTabulatedFunction и LinkedListTabulatedFunction
+        this.hash = TabulatedPoints.hashCode(xs, ys, count);
+    }
+
+    // Замороженная копия любой табулированной функции
+    static FrozenTabulatedFunction of(TabulatedFunction function) {
+        int count = function.getPointsCount();
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        for (int i = 0; i < count; i++) {
+            xValues[i] = function.getPointX(i);
+            yValues[i] = function.getPointY(i);
+        }
+        return new FrozenTabulatedFunction(xValues, yValues);
+    }
+
+    public int getPointsCount() { return xs.length; }
+    public double getLeftDomainBorder() { return leftX; }
+    public double getRightDomainBorder() { return rightX; }
+
+    public double getFunctionValue(double x) {
+        if (x < leftX - EPS || x > rightX + EPS)
+            return Double.NaN;
+        int i = GridLookup.findSegment(xs, xs.length, gridStep, x);
+        if (Math.abs(x - xs[i]) < EPS) return ys[i];
+        if (Math.abs(x - xs[i + 1]) < EPS) return ys[i + 1];
+        return ys[i] + slopes[i] * (x - xs[i]);
+    }
+
+    // Пакетное вычисление через NumericKernels (векторно, если доступно);
+    // результат совпадает с getFunctionValue побитово
+    @Override
+    public void getFunctionValues(double[] xValues, double[] values, int count) {
+        Function.checkBatchBounds(xValues.length, values.length, count);
+        interpolate(xValues, values, count);
+    }
+
+    // Узлы сетки заполняются через NumericKernels.fillGrid, затем вычисляются "на месте"
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        Function.checkBatchBounds(count, values.length, count);
+        Kernels.CURRENT.fillGrid(start, step, count, values);
+        interpolate(values, values, count);
+    }
+
+    // Номера отрезков ищутся блоками (GridLookup.findSegments) в массив потока,
+    // затем блок интерполируется ядром NumericKernels.interpolate
+    private void interpolate(double[] xValues, double[] values, int count) {
+        NumericKernels kernels = Kernels.CURRENT;
+        int[] segments = GridLookup.segmentsBuffer();
+        int segment = 0;
+        for (int from = 0; from < count; from += segments.length) {
+            int n = Math.min(count - from, segments.length);
+            segment = GridLookup.findSegments(xs, xs.length, gridStep, xValues, from, n, segments, segment);
+            kernels.interpolate(xs, ys, slopes, segments, xValues, values, from, n);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= xs.length)
+            throw new FunctionPointIndexOutOfBoundsException("Индекс " + index + " выходит за границы");
+    }
+
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(xs[index], ys[index]);
+    }
+
+    public double getPointX(int index) { checkIndex(index); return xs[index]; }
+    public double getPointY(int index) { checkIndex(index); return ys[index]; }
+
+    // копии координат всех точек
+    public double[] getXValues() { return xs.clone(); }
+    public double[] getYValues() { return ys.clone(); }
+
+    // Изменяемая копия
+    public ArrayTabulatedFunction toArrayTabulatedFunction() {
+        return ArrayTabulatedFunction.fromSortedArrays(xs.clone(), ys.clone());
+    }
+
+    public void setPoint(int index, FunctionPoint point) {
+        throw TabulatedPoints.readOnly("замороженная табулированная функция");
+    }
+
+    public void setPointX(int index, double x) {
+        throw TabulatedPoints.readOnly("замороженная табулированная функция");
+    }
+
+    public void setPointY(int index, double y) {
+        throw TabulatedPoints.readOnly("замороженная табулированная функция");
+    }
+
+    public void addPoint(FunctionPoint point) {
+        throw TabulatedPoints.readOnly("замороженная табулированная функция");
+    }
+
+    public void deletePoint(int index) {
+        throw TabulatedPoints.readOnly("замороженная табулированная функция");
+    }
+
+    // уже неизменяема
+    @Override
+    public FrozenTabulatedFunction freeze() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return TabulatedPoints.toString(xs, ys, xs.length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TabulatedFunction)) return false;
+        if (o instanceof FrozenTabulatedFunction) {
+            FrozenTabulatedFunction other = (FrozenTabulatedFunction) o;
+            return hash == other.hash && Arrays.equals(xs, other.xs) && Arrays.equals(ys, other.ys);
+        }
+        return TabulatedPoints.equals(xs, ys, xs.length, (TabulatedFunction) o);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    // Объект неизменяем, поэтому копия не нужна
+    @Override
+    public Object clone() {
+        return this;
+    }
+}
@@ -9,4 +9,39 @@ public interface Function {
 
     // Возвращает значение функции в точке x
     double getFunctionValue(double x);
+
+    // Пакетное вычисление: values[i] = f(xs[i]) для i от 0 до count - 1
+    // массивы xs и values могут совпадать (вычисление "на месте")
+    default void getFunctionValues(double[] xs, double[] values, int count) {
+        checkBatchBounds(xs.length, values.length, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = getFunctionValue(xs[i]);
+        }
+    }
+
+    // Пакетное вычисление по всему массиву xs
+    default void getFunctionValues(double[] xs, double[] values) {
+        getFunctionValues(xs, values, xs.length);
+    }
+
+    // Пакетное вычисление на равномерной сетке: values[i] = f(start + i * step)
+    default void getFunctionValues(double start, double step, int count, double[] values) {
+        checkBatchBounds(count, values.length, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = getFunctionValue(start + i * step);
+        }
+    }
+
+    // Проверка размеров массивов для пакетного вычисления
+    static void checkBatchBounds(int xsLength, int valuesLength, int count) {
+        if (count < 0 || count > xsLength || count > valuesLength)
+            throw new IllegalArgumentException("Некорректное количество точек для пакетного вычисления: " + count);
+    }
+
+    // Заполняет xs узлами равномерной сетки start + i * step
+    static void fillGrid(double start, double step, int count, double[] xs) {
+        for (int i = 0; i < count; i++) {
+            xs[i] = start + i * step;
+        }
+    }
 }
@@ -0,0 +1,197 @@
+package functions;
+
+import functions.basic.*;
+import functions.meta.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// Компилятор дерева функций из functions.basic и functions.meta в один составной MethodHandle.
+// Вместо цепочки интерфейсных вызовов getFunctionValue по узлам дерева получается
+// одна цепочка комбинаторов, которую JIT встраивает целиком.
+// Неизвестные реализации Function вызываются через getFunctionValue.
+//
+// JIT встраивает MethodHandle, только если тот - константа (static final поле), поэтому каждое
+// дерево получает свой скрытый класс из шаблона CompiledFunctionTemplate с составным MethodHandle
+// в static final поле. Определение класса стоит десятки микросекунд; скрытый класс выгружается
+// вместе с последней ссылкой на функцию.
+public final class FunctionCompiler {
+    private static final MethodType UNARY = MethodType.methodType(double.class, double.class);
+    private static final MethodType BINARY = MethodType.methodType(double.class, double.class, double.class);
+
+    private static final MethodHandle SIN;
+    private static final MethodHandle COS;
+    private static final MethodHandle TAN;
+    private static final MethodHandle EXP;
+    private static final MethodHandle POW;
+    private static final MethodHandle LOG;
+    private static final MethodHandle ADD;
+    private static final MethodHandle MUL;
+    private static final MethodHandle GET_FUNCTION_VALUE;
+    private static final MethodType TEMPLATE_CONSTRUCTOR = MethodType.methodType(void.class, Function.class, MethodHandle.class);
+    private static final byte[] TEMPLATE = readTemplate(); // байт-код CompiledFunctionTemplate или null
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            SIN = lookup.findStatic(Math.class, "sin", UNARY);
+            COS = lookup.findStatic(Math.class, "cos", UNARY);
+            TAN = lookup.findStatic(Math.class, "tan", UNARY);
+            EXP = lookup.findStatic(Math.class, "exp", UNARY);
+            POW = lookup.findStatic(Math.class, "pow", BINARY);
+            LOG = lookup.findStatic(FunctionCompiler.class, "log", BINARY);
+            ADD = lookup.findStatic(FunctionCompiler.class, "add", BINARY);
+            MUL = lookup.findStatic(FunctionCompiler.class, "mul", BINARY);
+            GET_FUNCTION_VALUE = lookup.findVirtual(Function.class, "getFunctionValue", UNARY);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private FunctionCompiler() {} // запрет на создание объектов
+
+    // Возвращает функцию, вычисляющую то же, что и function, одним составным вызовом
+    public static Function compile(Function function) {
+        if (function instanceof CompiledFunction) {
+            return function; // уже скомпилирована
+        }
+        MethodHandle handle = toHandle(function);
+        if (TEMPLATE == null) {
+            return new CompiledFunction(function, handle);
+        }
+        try {
+            MethodHandles.Lookup hidden = MethodHandles.lookup().defineHiddenClassWithClassData(TEMPLATE, handle, true);
+            return (Function) hidden.findConstructor(hidden.lookupClass(), TEMPLATE_CONSTRUCTOR)
+                    .invoke(function, handle);
+        } catch (Throwable e) {
+            throw CompiledFunction.rethrow(e);
+        }
+    }
+
+    // Байт-код шаблона; если он недоступен как ресурс, функции вызывают MethodHandle из поля объекта
+    private static byte[] readTemplate() {
+        try (InputStream in = FunctionCompiler.class.getResourceAsStream("CompiledFunctionTemplate.class")) {
+            return in == null ? null : in.readAllBytes();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Рекурсивное построение MethodHandle (double)double для узла дерева.
+    // Сравнивается точный класс узла: у наследников getFunctionValue может быть переопределён.
+    private static MethodHandle toHandle(Function function) {
+        Class<?> type = function.getClass();
+        if (type == Sin.class) return SIN;
+        if (type == Cos.class) return COS;
+        if (type == Tan.class) return TAN;
+        if (type == Exp.class) return EXP;
+        if (type == Identity.class) return MethodHandles.identity(double.class);
+        if (type == Log.class) {
+            return MethodHandles.insertArguments(LOG, 1, Math.log(((Log) function).getBase()));
+        }
+        if (function instanceof CompiledFunction) {
+            return ((CompiledFunction) function).handle;
+        }
+        if (type == Composition.class) {
+            Composition composition = (Composition) function;
+            return MethodHandles.filterReturnValue(toHandle(composition.getInner()), toHandle(composition.getOuter()));
+        }
+        if (type == Sum.class) {
+            Sum sum = (Sum) function;
+            return combine(ADD, toHandle(sum.getF1()), toHandle(sum.getF2()));
+        }
+        if (type == Mult.class) {
+            Mult mult = (Mult) function;
+            return combine(MUL, toHandle(mult.getF1()), toHandle(mult.getF2()));
+        }
+        if (type == Power.class) {
+            Power power = (Power) function;
+            return MethodHandles.filterReturnValue(toHandle(power.getBase()),
+                    MethodHandles.insertArguments(POW, 1, power.getExponent()));
+        }
+        if (type == Scale.class) {
+            Scale scale = (Scale) function;
+            MethodHandle scaled = MethodHandles.filterArguments(toHandle(scale.getBase()), 0,
+                    MethodHandles.insertArguments(MUL, 1, scale.getScaleX()));
+            return MethodHandles.filterReturnValue(scaled, MethodHandles.insertArguments(MUL, 1, scale.getScaleY()));
+        }
+        if (type == Shift.class) {
+            Shift shift = (Shift) function;
+            MethodHandle shifted = MethodHandles.filterArguments(toHandle(shift.getBase()), 0,
+                    MethodHandles.insertArguments(ADD, 1, shift.getShiftX()));
+            return MethodHandles.filterReturnValue(shifted, MethodHandles.insertArguments(ADD, 1, shift.getShiftY()));
+        }
+        // неизвестная реализация - обычный вызов getFunctionValue
+        return GET_FUNCTION_VALUE.bindTo(function);
+    }
+
+    // x -> operation(first(x), second(x))
+    private static MethodHandle combine(MethodHandle operation, MethodHandle first, MethodHandle second) {
+        MethodHandle both = MethodHandles.filterArguments(operation, 0, first, second);
+        return MethodHandles.permuteArguments(both, UNARY, 0, 0);
+    }
+
+    // логарифм с той же проверкой аргумента, что и в Log
+    private static double log(double x, double logBase) {
+        if (x <= 0) {
+            throw new IllegalArgumentException("Аргумент логарифма должен быть > 0");
+        }
+        return Math.log(x) / logBase;
+    }
+
+    private static double add(double a, double b) {
+        return a + b;
+    }
+
+    private static double mul(double a, double b) {
+        return a * b;
+    }
+
+    // Скомпилированная функция: значения - через составной MethodHandle,
+    // область определения - от исходного дерева (вычисляется один раз).
+    // Сам класс вызывает MethodHandle из поля объекта (JIT его не встраивает); compile возвращает
+    // наследника - скрытый класс из CompiledFunctionTemplate с MethodHandle в static final поле
+    static class CompiledFunction implements Function {
+        private final Function source;
+        private final MethodHandle handle;
+        private final double leftDomainBorder;
+        private final double rightDomainBorder;
+
+        CompiledFunction(Function source, MethodHandle handle) {
+            this.source = source;
+            this.handle = handle;
+            this.leftDomainBorder = source.getLeftDomainBorder();
+            this.rightDomainBorder = source.getRightDomainBorder();
+        }
+
+        // исходное (нескомпилированное) дерево
+        Function getSource() {
+            return source;
+        }
+
+        public double getLeftDomainBorder() {
+            return leftDomainBorder;
+        }
+
+        public double getRightDomainBorder() {
+            return rightDomainBorder;
+        }
+
+        public double getFunctionValue(double x) {
+            try {
+                return (double) handle.invokeExact(x);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        // getFunctionValue не объявляет проверяемых исключений
+        static RuntimeException rethrow(Throwable e) {
+            if (e instanceof RuntimeException) throw (RuntimeException) e;
+            if (e instanceof Error) throw (Error) e;
+            return new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package functions;
+
+import functions.basic.*;
+import functions.meta.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+// Вычисление дерева функций как DAG выражений с устранением общих подвыражений.
+// Дерево разворачивается в список операций над аргументом x в топологическом порядке;
+// одинаковые подвыражения (например, Sin(x) в нескольких ветвях Sum/Mult) хранятся один раз
+// и вычисляются один раз на каждый x, а в пакетном режиме - один раз на блок сетки.
+// Неизвестные реализации Function становятся листьями, вызываемыми через getFunctionValue(s).
+// Значения узлов хранятся в рабочих массивах потока (ThreadLocal), поэтому вычисление
+// не выделяет память, а один объект можно вычислять из нескольких потоков.
+public class FunctionDag implements Function {
+    // коды операций
+    private static final int ARGUMENT = 0;   // x
+    private static final int SIN = 1;
+    private static final int COS = 2;
+    private static final int TAN = 3;
+    private static final int EXP = 4;
+    private static final int LOG = 5;        // log(a) / constant
+    private static final int ADD = 6;        // a + b
+    private static final int MUL = 7;        // a * b
+    private static final int POW = 8;        // pow(a, constant)
+    private static final int ADD_CONSTANT = 9;  // a + constant
+    private static final int MUL_CONSTANT = 10; // a * constant
+    private static final int CALL = 11;      // leaves[b].getFunctionValue(a)
+
+    // размер блока точек при пакетном вычислении
+    private static final int BLOCK_SIZE = 256;
+
+    private final Function source;
+    private final int[] operations;
+    private final int[] firstOperands;
+    private final int[] secondOperands;
+    private final double[] constants;
+    private final Function[] leaves;
+    private final int root; // узел с результатом
+    // рабочие массивы потока: значения узлов для одного x и блоки узлов для пакетного вычисления
+    private final ThreadLocal<Scratch> scratch;
+
+    public FunctionDag(Function source) {
+        this.source = source;
+        Builder builder = new Builder();
+        this.root = builder.build(source, builder.add(ARGUMENT, -1, -1, 0, null));
+        int size = builder.operations.size();
+        this.operations = new int[size];
+        this.firstOperands = new int[size];
+        this.secondOperands = new int[size];
+        this.constants = new double[size];
+        for (int i = 0; i < size; i++) {
+            long[] node = builder.operations.get(i);
+            operations[i] = (int) node[0];
+            firstOperands[i] = (int) node[1];
+            secondOperands[i] = (int) node[2];
+            constants[i] = Double.longBitsToDouble(node[3]);
+        }
+        this.leaves = builder.leaves.toArray(new Function[0]);
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(root + 1));
+    }
+
+    // Рабочие массивы одного потока: выделяются при первом вычислении в потоке и затем
+    // переиспользуются; блоки узлов создаются при первом пакетном вычислении.
+    // Узлы после корня не нужны для результата, поэтому размер - root + 1.
+    private static final class Scratch {
+        final double[] slots;
+        final double[][] buffers;
+        boolean busy; // массивы заняты вычислением, в которое вложен текущий вызов (через лист)
+
+        Scratch(int size) {
+            this.slots = new double[size];
+            this.buffers = new double[size][];
+        }
+    }
+
+    // рабочие массивы потока; при повторном входе из листа - новые, чтобы не испортить занятые
+    private Scratch acquire() {
+        Scratch s = scratch.get();
+        if (s.busy) {
+            return new Scratch(root + 1);
+        }
+        s.busy = true;
+        return s;
+    }
+
+    // количество различных подвыражений (узлов DAG), включая аргумент x
+    public int getNodesCount() {
+        return operations.length;
+    }
+
+    public double getLeftDomainBorder() {
+        return source.getLeftDomainBorder();
+    }
+
+    public double getRightDomainBorder() {
+        return source.getRightDomainBorder();
+    }
+
+    public double getFunctionValue(double x) {
+        Scratch s = acquire();
+        try {
+            return evaluate(s.slots, x);
+        } finally {
+            s.busy = false;
+        }
+    }
+
+    private double evaluate(double[] slots, double x) {
+        int size = root + 1;
+        slots[0] = x;
+        for (int i = 1; i < size; i++) {
+            double a = slots[firstOperands[i]];
+            double c = constants[i];
+            double result;
+            switch (operations[i]) {
+                case SIN: result = Math.sin(a); break;
+                case COS: result = Math.cos(a); break;
+                case TAN: result = Math.tan(a); break;
+                case EXP: result = Math.exp(a); break;
+                case LOG: result = log(a, c); break;
+                case ADD: result = a + slots[secondOperands[i]]; break;
+                case MUL: result = a * slots[secondOperands[i]]; break;
+                case POW: result = Math.pow(a, c); break;
+                case ADD_CONSTANT: result = a + c; break;
+                case MUL_CONSTANT: result = a * c; break;
+                default: result = leaves[secondOperands[i]].getFunctionValue(a); break;
+            }
+            slots[i] = result;
+        }
+        return slots[root];
+    }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        Function.checkBatchBounds(xs.length, values.length, count);
+        Scratch s = acquire();
+        try {
+            double[][] buffers = s.buffers;
+            for (int start = 0; start < count; start += BLOCK_SIZE) {
+                int length = Math.min(BLOCK_SIZE, count - start);
+                double[] argument = allocate(buffers, 0);
+                System.arraycopy(xs, start, argument, 0, length);
+                System.arraycopy(evaluateBlock(buffers, length), 0, values, start, length);
+            }
+        } finally {
+            s.busy = false;
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        Function.checkBatchBounds(count, values.length, count);
+        Scratch s = acquire();
+        try {
+            double[][] buffers = s.buffers;
+            for (int offset = 0; offset < count; offset += BLOCK_SIZE) {
+                int length = Math.min(BLOCK_SIZE, count - offset);
+                double[] argument = allocate(buffers, 0);
+                for (int i = 0; i < length; i++) {
+                    argument[i] = start + (offset + i) * step;
+                }
+                System.arraycopy(evaluateBlock(buffers, length), 0, values, offset, length);
+            }
+        } finally {
+            s.busy = false;
+        }
+    }
+
+    // вычисление всех узлов над блоком аргументов buffers[0]; каждый узел - один проход по массиву
+    private double[] evaluateBlock(double[][] buffers, int length) {
+        int size = root + 1;
+        for (int node = 1; node < size; node++) {
+            double[] a = buffers[firstOperands[node]];
+            double[] out = allocate(buffers, node);
+            double c = constants[node];
+            switch (operations[node]) {
+                case SIN: for (int i = 0; i < length; i++) out[i] = Math.sin(a[i]); break;
+                case COS: for (int i = 0; i < length; i++) out[i] = Math.cos(a[i]); break;
+                case TAN: for (int i = 0; i < length; i++) out[i] = Math.tan(a[i]); break;
+                case EXP: for (int i = 0; i < length; i++) out[i] = Math.exp(a[i]); break;
+                case LOG: for (int i = 0; i < length; i++) out[i] = log(a[i], c); break;
+                case ADD: {
+                    double[] b = buffers[secondOperands[node]];
+                    for (int i = 0; i < length; i++) out[i] = a[i] + b[i];
+                    break;
+                }
+                case MUL: {
+                    double[] b = buffers[secondOperands[node]];
+                    for (int i = 0; i < length; i++) out[i] = a[i] * b[i];
+                    break;
+                }
+                case POW: for (int i = 0; i < length; i++) out[i] = Math.pow(a[i], c); break;
+                case ADD_CONSTANT: for (int i = 0; i < length; i++) out[i] = a[i] + c; break;
+                case MUL_CONSTANT: for (int i = 0; i < length; i++) out[i] = a[i] * c; break;
+                default: leaves[secondOperands[node]].getFunctionValues(a, out, length); break;
+            }
+        }
+        return buffers[root];
+    }
+
+    private static double[] allocate(double[][] buffers, int node) {
+        if (buffers[node] == null) {
+            buffers[node] = new double[BLOCK_SIZE];
+        }
+        return buffers[node];
+    }
+
+    // логарифм с той же проверкой аргумента, что и в Log
+    private static double log(double x, double logBase) {
+        if (x <= 0) {
+            throw new IllegalArgumentException("Аргумент логарифма должен быть > 0");
+        }
+        return Math.log(x) / logBase;
+    }
+
+    // Построение списка операций с хэш-консингом: одинаковые (операция, операнды, константа)
+    // получают один и тот же номер узла
+    private static class Builder {
+        final ArrayList<long[]> operations = new ArrayList<>();
+        final ArrayList<Function> leaves = new ArrayList<>();
+        private final HashMap<Key, Integer> index = new HashMap<>();
+        private final IdentityHashMap<Function, Integer> leafIndex = new IdentityHashMap<>();
+
+        // номер узла, вычисляющего function(аргумент из узла argument)
+        int build(Function function, int argument) {
+            Class<?> type = function.getClass();
+            if (type == Sin.class) return add(SIN, argument, -1, 0, null);
+            if (type == Cos.class) return add(COS, argument, -1, 0, null);
+            if (type == Tan.class) return add(TAN, argument, -1, 0, null);
+            if (type == Exp.class) return add(EXP, argument, -1, 0, null);
+            if (type == Identity.class) return argument;
+            if (type == Log.class) return add(LOG, argument, -1, Math.log(((Log) function).getBase()), null);
+            if (type == Sum.class) {
+                Sum sum = (Sum) function;
+                return add(ADD, build(sum.getF1(), argument), build(sum.getF2(), argument), 0, null);
+            }
+            if (type == Mult.class) {
+                Mult mult = (Mult) function;
+                return add(MUL, build(mult.getF1(), argument), build(mult.getF2(), argument), 0, null);
+            }
+            if (type == Composition.class) {
+                Composition composition = (Composition) function;
+                return build(composition.getOuter(), build(composition.getInner(), argument));
+            }
+            if (type == Power.class) {
+                Power power = (Power) function;
+                return add(POW, build(power.getBase(), argument), -1, power.getExponent(), null);
+            }
+            if (type == Scale.class) {
+                Scale scale = (Scale) function;
+                int scaled = add(MUL_CONSTANT, argument, -1, scale.getScaleX(), null);
+                return add(MUL_CONSTANT, build(scale.getBase(), scaled), -1, scale.getScaleY(), null);
+            }
+            if (type == Shift.class) {
+                Shift shift = (Shift) function;
+                int shifted = add(ADD_CONSTANT, argument, -1, shift.getShiftX(), null);
+                return add(ADD_CONSTANT, build(shift.getBase(), shifted), -1, shift.getShiftY(), null);
+            }
+            return add(CALL, argument, -1, 0, function); // неизвестная реализация - лист
+        }
+
+        int add(int operation, int first, int second, double constant, Function leaf) {
+            if (leaf != null) {
+                // листья одного и того же объекта функции получают общий номер
+                Integer leafNumber = leafIndex.get(leaf);
+                if (leafNumber == null) {
+                    leafNumber = leaves.size();
+                    leaves.add(leaf);
+                    leafIndex.put(leaf, leafNumber);
+                }
+                second = leafNumber;
+            }
+            long constantBits = Double.doubleToLongBits(constant);
+            Key key = new Key(operation, first, second, constantBits);
+            Integer existing = index.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            int node = operations.size();
+            operations.add(new long[]{operation, first, second, constantBits});
+            index.put(key, node);
+            return node;
+        }
+    }
+
+    // ключ хэш-консинга узла выражения
+    private static final class Key {
+        private final int operation;
+        private final int first;
+        private final int second;
+        private final long constant;
+
+        Key(int operation, int first, int second, long constant) {
+            this.operation = operation;
+            this.first = first;
+            this.second = second;
+            this.constant = constant;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return operation == that.operation && first == that.first
+                    && second == that.second && constant == that.constant;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = operation;
+            hash = 31 * hash + first;
+            hash = 31 * hash + second;
+            hash = 31 * hash + Long.hashCode(constant);
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package functions;
+
+import functions.basic.*;
+import functions.meta.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Хэш-консинг деревьев функций: структурно равные узлы из functions.basic и functions.meta
+// заменяются одним общим экземпляром, и набор деревьев превращается в DAG.
+// Узлы сравниваются по точному классу, параметрам (побитово) и уже приведённым дочерним узлам.
+// Табулированные и неизвестные реализации Function не объединяются (сравниваются по ссылке).
+// Объект потокобезопасен; канонические узлы хранятся, пока жив сам интернер.
+public class FunctionInterner {
+    private final ConcurrentHashMap<NodeKey, Function> nodes = new ConcurrentHashMap<>();
+
+    // Возвращает канонический экземпляр, структурно равный function
+    public Function intern(Function function) {
+        Class<?> type = function.getClass();
+        if (type == Sin.class || type == Cos.class || type == Tan.class
+                || type == Exp.class || type == Identity.class) {
+            return canonical(new NodeKey(type, null, null, 0, 0), function);
+        }
+        if (type == Log.class) {
+            return canonical(new NodeKey(type, null, null, bits(((Log) function).getBase()), 0), function);
+        }
+        if (type == Sum.class) {
+            Sum sum = (Sum) function;
+            Function f1 = intern(sum.getF1());
+            Function f2 = intern(sum.getF2());
+            NodeKey key = new NodeKey(type, f1, f2, 0, 0);
+            Function found = nodes.get(key);
+            return found != null ? found : canonical(key,
+                    f1 == sum.getF1() && f2 == sum.getF2() ? sum : new Sum(f1, f2));
+        }
+        if (type == Mult.class) {
+            Mult mult = (Mult) function;
+            Function f1 = intern(mult.getF1());
+            Function f2 = intern(mult.getF2());
+            NodeKey key = new NodeKey(type, f1, f2, 0, 0);
+            Function found = nodes.get(key);
+            return found != null ? found : canonical(key,
+                    f1 == mult.getF1() && f2 == mult.getF2() ? mult : new Mult(f1, f2));
+        }
+        if (type == Composition.class) {
+            Composition composition = (Composition) function;
+            Function outer = intern(composition.getOuter());
+            Function inner = intern(composition.getInner());
+            NodeKey key = new NodeKey(type, outer, inner, 0, 0);
+            Function found = nodes.get(key);
+            return found != null ? found : canonical(key,
+                    outer == composition.getOuter() && inner == composition.getInner()
+                            ? composition : new Composition(outer, inner));
+        }
+        if (type == Power.class) {
+            Power power = (Power) function;
+            Function base = intern(power.getBase());
+            NodeKey key = new NodeKey(type, base, null, bits(power.getExponent()), 0);
+            Function found = nodes.get(key);
+            return found != null ? found : canonical(key,
+                    base == power.getBase() ? power : new Power(base, power.getExponent()));
+        }
+        if (type == Scale.class) {
+            Scale scale = (Scale) function;
+            Function base = intern(scale.getBase());
+            NodeKey key = new NodeKey(type, base, null, bits(scale.getScaleX()), bits(scale.getScaleY()));
+            Function found = nodes.get(key);
+            return found != null ? found : canonical(key,
+                    base == scale.getBase() ? scale : new Scale(base, scale.getScaleX(), scale.getScaleY()));
+        }
+        if (type == Shift.class) {
+            Shift shift = (Shift) function;
+            Function base = intern(shift.getBase());
+            NodeKey key = new NodeKey(type, base, null, bits(shift.getShiftX()), bits(shift.getShiftY()));
+            Function found = nodes.get(key);
+            return found != null ? found : canonical(key,
+                    base == shift.getBase() ? shift : new Shift(base, shift.getShiftX(), shift.getShiftY()));
+        }
+        return function; // неизвестная реализация - без объединения
+    }
+
+    // количество канонических узлов
+    public int size() {
+        return nodes.size();
+    }
+
+    // очистка таблицы канонических узлов
+    public void clear() {
+        nodes.clear();
+    }
+
+    private Function canonical(NodeKey key, Function candidate) {
+        Function existing = nodes.putIfAbsent(key, candidate);
+        return existing != null ? existing : candidate;
+    }
+
+    private static long bits(double value) {
+        return Double.doubleToLongBits(value);
+    }
+
+    // Ключ узла: класс, дочерние узлы (по ссылке, они уже канонические) и числовые параметры
+    private static final class NodeKey {
+        private final Class<?> type;
+        private final Function first;
+        private final Function second;
+        private final long parameter1;
+        private final long parameter2;
+
+        NodeKey(Class<?> type, Function first, Function second, long parameter1, long parameter2) {
+            this.type = type;
+            this.first = first;
+            this.second = second;
+            this.parameter1 = parameter1;
+            this.parameter2 = parameter2;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof NodeKey)) return false;
+            NodeKey that = (NodeKey) o;
+            return type == that.type && first == that.first && second == that.second
+                    && parameter1 == that.parameter1 && parameter2 == that.parameter2;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = type.hashCode();
+            hash = 31 * hash + System.identityHashCode(first);
+            hash = 31 * hash + System.identityHashCode(second);
+            hash = 31 * hash + Long.hashCode(parameter1);
+            hash = 31 * hash + Long.hashCode(parameter2);
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package functions;
+
+import functions.basic.*;
+import functions.meta.*;
+
+// Алгебраическое упрощение дерева функций из functions.basic и functions.meta.
+// Дерево переписывается снизу вверх; каждое правило сохраняет значения, исключения и область
+// определения (с точностью до округления при сворачивании констант):
+//   Shift(Shift(f, a, b), c, d)   -> Shift(f, a + c, b + d)
+//   Scale(Scale(f, a, b), c, d)   -> Scale(f, a * c, b * d)
+//   Power(Power(f, a), b)         -> Power(f, a * b), если a и b целые
+//   Shift(f, 0, 0), Scale(f, 1, 1), Power(f, 1) -> f
+//   Sum(Shift(f, 0, c), g)        -> Shift(Sum(f, g), 0, c)    (константы выносятся наверх цепочки сумм)
+//   Mult(Scale(f, 1, c), g)       -> Scale(Mult(f, g), 1, c)   (множители выносятся наверх цепочки произведений)
+//   Composition(Identity, f)      -> f
+//   Composition(f, Identity)      -> f, если область определения f - вся ось и не меняется
+//                                    (иначе область композиции, взятая у Identity, сузилась бы)
+// Composition(Log(b), Exp) не заменяется на x / ln b: при x < -745 exp(x) = 0 и логарифм
+// выбрасывает исключение, а при x > 709 exp(x) = inf и значение бесконечно.
+// Неизвестные реализации Function не изменяются.
+public final class FunctionSimplifier {
+    private FunctionSimplifier() {} // запрет на создание объектов
+
+    public static Function simplify(Function function) {
+        Class<?> type = function.getClass();
+        if (type == Shift.class) {
+            Shift shift = (Shift) function;
+            return shift(simplify(shift.getBase()), shift.getShiftX(), shift.getShiftY());
+        }
+        if (type == Scale.class) {
+            Scale scale = (Scale) function;
+            return scale(simplify(scale.getBase()), scale.getScaleX(), scale.getScaleY());
+        }
+        if (type == Power.class) {
+            Power power = (Power) function;
+            return power(simplify(power.getBase()), power.getExponent());
+        }
+        if (type == Sum.class) {
+            Sum sum = (Sum) function;
+            return sum(simplify(sum.getF1()), simplify(sum.getF2()));
+        }
+        if (type == Mult.class) {
+            Mult mult = (Mult) function;
+            return mult(simplify(mult.getF1()), simplify(mult.getF2()));
+        }
+        if (type == Composition.class) {
+            Composition composition = (Composition) function;
+            return composition(simplify(composition.getOuter()), simplify(composition.getInner()));
+        }
+        return function;
+    }
+
+    // Построение узлов с применением правил; аргументы уже упрощены
+
+    private static Function shift(Function base, double shiftX, double shiftY) {
+        if (base.getClass() == Shift.class) {
+            Shift inner = (Shift) base;
+            return shift(inner.getBase(), inner.getShiftX() + shiftX, inner.getShiftY() + shiftY);
+        }
+        if (shiftX == 0 && shiftY == 0) {
+            return base;
+        }
+        return new Shift(base, shiftX, shiftY);
+    }
+
+    private static Function scale(Function base, double scaleX, double scaleY) {
+        if (base.getClass() == Scale.class) {
+            Scale inner = (Scale) base;
+            return scale(inner.getBase(), inner.getScaleX() * scaleX, inner.getScaleY() * scaleY);
+        }
+        if (scaleX == 1 && scaleY == 1) {
+            return base;
+        }
+        return new Scale(base, scaleX, scaleY);
+    }
+
+    private static Function power(Function base, double exponent) {
+        if (base.getClass() == Power.class) {
+            Power inner = (Power) base;
+            // (f^a)^b = f^(a*b) верно для любого f только при целых a и b
+            if (isInteger(inner.getExponent()) && isInteger(exponent)) {
+                return power(inner.getBase(), inner.getExponent() * exponent);
+            }
+        }
+        if (exponent == 1) {
+            return base;
+        }
+        return new Power(base, exponent);
+    }
+
+    private static Function sum(Function f1, Function f2) {
+        if (isVerticalShift(f1)) {
+            Shift shift = (Shift) f1;
+            return shift(sum(shift.getBase(), f2), 0, shift.getShiftY());
+        }
+        if (isVerticalShift(f2)) {
+            Shift shift = (Shift) f2;
+            return shift(sum(f1, shift.getBase()), 0, shift.getShiftY());
+        }
+        return new Sum(f1, f2);
+    }
+
+    private static Function mult(Function f1, Function f2) {
+        if (isVerticalScale(f1)) {
+            Scale scale = (Scale) f1;
+            return scale(mult(scale.getBase(), f2), 1, scale.getScaleY());
+        }
+        if (isVerticalScale(f2)) {
+            Scale scale = (Scale) f2;
+            return scale(mult(f1, scale.getBase()), 1, scale.getScaleY());
+        }
+        return new Mult(f1, f2);
+    }
+
+    private static Function composition(Function outer, Function inner) {
+        if (outer.getClass() == Identity.class) {
+            return inner;
+        }
+        if (inner.getClass() == Identity.class && hasUnboundedDomain(outer)) {
+            return outer;
+        }
+        return new Composition(outer, inner);
+    }
+
+    // область определения - вся ось, как у Identity, и не меняется после упрощения
+    private static boolean hasUnboundedDomain(Function f) {
+        return Domains.isFixed(f) && f.getLeftDomainBorder() == -Double.MAX_VALUE
+                && f.getRightDomainBorder() == Double.MAX_VALUE;
+    }
+
+    // сдвиг только по Y (f(x) + c) - его константу можно вынести из суммы
+    private static boolean isVerticalShift(Function f) {
+        return f.getClass() == Shift.class && ((Shift) f).getShiftX() == 0;
+    }
+
+    // масштаб только по Y (f(x) * c) - его множитель можно вынести из произведения
+    private static boolean isVerticalScale(Function f) {
+        return f.getClass() == Scale.class && ((Scale) f).getScaleX() == 1;
+    }
+
+    private static boolean isInteger(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value);
+    }
+}
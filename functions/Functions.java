@@ -1,11 +1,44 @@
 package functions;
 
 import functions.meta.*;
+import functions.metrics.Metrics;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public class Functions {
     // Приватный конструктор, чтобы нельзя было создавать объект
     private Functions() {} //нельзя создать объект
 
+    // размер блока узлов, вычисляемых за один пакетный вызов при интегрировании
+    private static final int INTEGRATION_BLOCK_SIZE = 1024;
+
+    // число шагов в одном куске параллельного интегрирования (и порог последовательного счёта)
+    public static final long DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+    // бюджет вычислений функции по умолчанию для адаптивного интегрирования
+    public static final long DEFAULT_MAX_EVALUATIONS = 100_000;
+
+    // узлы и веса квадратуры Гаусса-Кронрода G7-K15 (QUADPACK qk15)
+    private static final double[] KRONROD_NODES = {
+            0.991455371120812639206854697526329, 0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926, 0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013, 0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245, 0.0
+    };
+    private static final double[] KRONROD_WEIGHTS = {
+            0.022935322010529224963732008058970, 0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518, 0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550, 0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649, 0.209482141084727828012999174891714
+    };
+    // веса Гаусса для узлов KRONROD_NODES[1], [3], [5], [7]
+    private static final double[] GAUSS_WEIGHTS = {
+            0.129484966168869693270611432679082, 0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975, 0.417959183673469387755102040816327
+    };
+    private static final int KRONROD_POINTS = 15;
+
     public static Function shift(Function f, double shiftX, double shiftY) {
         return new Shift(f, shiftX, shiftY);
     }
@@ -29,7 +62,237 @@ public class Functions {
     public static Function composition(Function outer, Function inner) {
         return new Composition(outer, inner);
     }
+
+    // Компиляция дерева функций в один составной вызов (см. FunctionCompiler).
+    // Результат - обычная Function и может передаваться в Integrate и TabulatedFunctions.tabulate.
+    public static Function compile(Function f) {
+        return FunctionCompiler.compile(f);
+    }
+
+    // Алгебраическое упрощение дерева функций (см. FunctionSimplifier)
+    public static Function simplify(Function f) {
+        return FunctionSimplifier.simplify(f);
+    }
+
+    // Кэширующая обёртка с ограниченной ёмкостью (см. CachedFunction)
+    public static CachedFunction cached(Function f, int capacity) {
+        return new CachedFunction(f, capacity);
+    }
+
     public static double Integrate(Function function, double leftBorder, double rightBorder, double discretizationStep) {
+        checkIntegrationArguments(function, leftBorder, rightBorder, discretizationStep);
+        long start = Metrics.start();
+
+        long fullSteps = countFullSteps(leftBorder, rightBorder, discretizationStep);
+        double integral = trapezoidSum(function, leftBorder, discretizationStep, 0, fullSteps);
+        integral += lastStepArea(function, leftBorder, rightBorder, discretizationStep, fullSteps);
+        recordIntegration(start, leftBorder, rightBorder, discretizationStep, fullSteps);
+        return integral;
+    }
+
+    // Параллельное интегрирование методом трапеций в общем пуле ForkJoinPool
+    public static double integrateParallel(Function function, double leftBorder, double rightBorder, double discretizationStep) {
+        return integrateParallel(function, leftBorder, rightBorder, discretizationStep,
+                ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    // Параллельное интегрирование методом трапеций в заданном пуле.
+    // Отрезок делится на куски по threshold шагов; если шагов не больше threshold, счёт идёт последовательно.
+    // Частичные суммы складываются в фиксированном порядке, поэтому при одном и том же threshold
+    // результат побитово воспроизводим независимо от числа потоков пула.
+    public static double integrateParallel(Function function, double leftBorder, double rightBorder,
+                                           double discretizationStep, ForkJoinPool pool, long threshold) {
+        checkIntegrationArguments(function, leftBorder, rightBorder, discretizationStep);
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Порог параллельного интегрирования должен быть положительным");
+        }
+
+        long start = Metrics.start();
+        long fullSteps = countFullSteps(leftBorder, rightBorder, discretizationStep);
+        double integral;
+        if (fullSteps <= threshold) {
+            integral = trapezoidSum(function, leftBorder, discretizationStep, 0, fullSteps);
+        } else {
+            long chunks = (fullSteps + threshold - 1) / threshold;
+            integral = pool.invoke(new IntegrationTask(function, leftBorder, discretizationStep,
+                    fullSteps, threshold, 0, chunks));
+        }
+        integral += lastStepArea(function, leftBorder, rightBorder, discretizationStep, fullSteps);
+        recordIntegration(start, leftBorder, rightBorder, discretizationStep, fullSteps);
+        return integral;
+    }
+
+    // Учёт интегрирования методом трапеций в метриках: fullSteps + 1 узлов и два узла неполного шага
+    private static void recordIntegration(long start, double leftBorder, double rightBorder,
+                                          double discretizationStep, long fullSteps) {
+        if (Metrics.ENABLED) {
+            boolean partialStep = leftBorder + fullSteps * discretizationStep < rightBorder;
+            Metrics.INTEGRATIONS.increment();
+            Metrics.INTEGRATION_EVALUATIONS.add(fullSteps + 1 + (partialStep ? 2 : 0));
+            Metrics.stop(Metrics.INTEGRATION_NANOS, start);
+        }
+    }
+
+    // Интегрирование по формуле Симпсона на intervals равных отрезках (intervals чётно).
+    // Погрешность O(h^4) против O(h^2) у трапеций при том же числе вычислений функции.
+    public static double integrateSimpson(Function function, double leftBorder, double rightBorder, long intervals) {
+        if (intervals < 2 || intervals % 2 != 0) {
+            throw new IllegalArgumentException("Число отрезков для формулы Симпсона должно быть чётным и положительным");
+        }
+        double h = (rightBorder - leftBorder) / intervals;
+        checkIntegrationArguments(function, leftBorder, rightBorder, h);
+        long start = Metrics.start();
+
+        double integral = simpsonSum(function, leftBorder, h, 0, intervals) * h / 3.0;
+        if (Metrics.ENABLED) {
+            Metrics.INTEGRATIONS.increment();
+            Metrics.INTEGRATION_EVALUATIONS.add(intervals + 1);
+            Metrics.stop(Metrics.INTEGRATION_NANOS, start);
+        }
+        return integral;
+    }
+
+    // Адаптивное интегрирование с абсолютной погрешностью tolerance и бюджетом по умолчанию
+    public static IntegrationResult integrateAdaptive(Function function, double leftBorder, double rightBorder,
+                                                      double tolerance) {
+        return integrateAdaptive(function, leftBorder, rightBorder, tolerance, 0.0, DEFAULT_MAX_EVALUATIONS);
+    }
+
+    // Адаптивное интегрирование квадратурой Гаусса-Кронрода G7-K15.
+    // На каждом шаге делится пополам отрезок с наибольшей оценкой погрешности, пока суммарная
+    // оценка не станет <= max(absoluteTolerance, relativeTolerance * |интеграл|)
+    // или не будет исчерпан бюджет maxEvaluations вычислений функции.
+    public static IntegrationResult integrateAdaptive(Function function, double leftBorder, double rightBorder,
+                                                      double absoluteTolerance, double relativeTolerance,
+                                                      long maxEvaluations) {
+        if (leftBorder >= rightBorder) {
+            throw new IllegalArgumentException("Левая граница интегрирования должна быть меньше правой");
+        }
+        if (leftBorder < function.getLeftDomainBorder() || rightBorder > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Границы интегрирования выходят за область определения функции");
+        }
+        if (!(absoluteTolerance >= 0) || !(relativeTolerance >= 0) || absoluteTolerance + relativeTolerance == 0) {
+            throw new IllegalArgumentException("Допустимая погрешность должна быть неотрицательной и не нулевой");
+        }
+        if (maxEvaluations < KRONROD_POINTS) {
+            throw new IllegalArgumentException("Бюджет вычислений меньше " + KRONROD_POINTS);
+        }
+
+        long start = Metrics.start();
+        double[] xs = new double[KRONROD_POINTS];
+        double[] values = new double[KRONROD_POINTS];
+
+        // очередь отрезков: первым извлекается отрезок с наибольшей погрешностью
+        PriorityQueue<KronrodSegment> segments =
+                new PriorityQueue<>((a, b) -> Double.compare(b.error, a.error));
+        KronrodSegment whole = kronrod(function, leftBorder, rightBorder, xs, values);
+        segments.add(whole);
+        long evaluations = KRONROD_POINTS;
+        double integral = whole.value;
+        double error = whole.error;
+
+        while (error > Math.max(absoluteTolerance, relativeTolerance * Math.abs(integral))
+                && evaluations + 2 * KRONROD_POINTS <= maxEvaluations) {
+            KronrodSegment worst = segments.poll();
+            double middle = 0.5 * (worst.left + worst.right);
+            if (middle <= worst.left || middle >= worst.right) {
+                segments.add(worst); // отрезок больше не делится в double - дальше уточнять нельзя
+                break;
+            }
+            KronrodSegment first = kronrod(function, worst.left, middle, xs, values);
+            KronrodSegment second = kronrod(function, middle, worst.right, xs, values);
+            evaluations += 2 * KRONROD_POINTS;
+            segments.add(first);
+            segments.add(second);
+            integral += first.value + second.value - worst.value;
+            error += first.error + second.error - worst.error;
+        }
+
+        // итоговые суммы пересчитываются заново, чтобы не копить ошибку округления разностей
+        integral = 0.0;
+        error = 0.0;
+        for (KronrodSegment segment : segments) {
+            integral += segment.value;
+            error += segment.error;
+        }
+        boolean converged = error <= Math.max(absoluteTolerance, relativeTolerance * Math.abs(integral));
+        if (Metrics.ENABLED) {
+            Metrics.INTEGRATIONS.increment();
+            Metrics.INTEGRATION_EVALUATIONS.add(evaluations);
+            Metrics.stop(Metrics.INTEGRATION_NANOS, start);
+        }
+        return new IntegrationResult(integral, error, evaluations, converged);
+    }
+
+    // Отрезок адаптивного интегрирования с его оценками интеграла и погрешности
+    private static class KronrodSegment {
+        final double left;
+        final double right;
+        final double value;
+        final double error;
+
+        KronrodSegment(double left, double right, double value, double error) {
+            this.left = left;
+            this.right = right;
+            this.value = value;
+            this.error = error;
+        }
+    }
+
+    // Квадратура G7-K15 на отрезке [left, right] с оценкой погрешности по схеме QUADPACK.
+    // Все 15 узлов вычисляются одним пакетным вызовом; xs и values - рабочие буферы.
+    private static KronrodSegment kronrod(Function function, double left, double right,
+                                         double[] xs, double[] values) {
+        double center = 0.5 * (left + right);
+        double halfLength = 0.5 * (right - left);
+
+        // values[0..6] - левые узлы, values[7] - центр, values[8..14] - правые узлы
+        for (int j = 0; j < 7; j++) {
+            double offset = halfLength * KRONROD_NODES[j];
+            xs[j] = center - offset;
+            xs[KRONROD_POINTS - 1 - j] = center + offset;
+        }
+        xs[7] = center;
+        function.getFunctionValues(xs, values, KRONROD_POINTS);
+
+        double centerValue = values[7];
+        double gauss = centerValue * GAUSS_WEIGHTS[3];
+        double kronrod = centerValue * KRONROD_WEIGHTS[7];
+        double absKronrod = Math.abs(kronrod);
+        for (int j = 0; j < 7; j++) {
+            double f1 = values[j];
+            double f2 = values[KRONROD_POINTS - 1 - j];
+            kronrod += KRONROD_WEIGHTS[j] * (f1 + f2);
+            absKronrod += KRONROD_WEIGHTS[j] * (Math.abs(f1) + Math.abs(f2));
+            if (j % 2 == 1) {
+                gauss += GAUSS_WEIGHTS[j / 2] * (f1 + f2);
+            }
+        }
+
+        double mean = kronrod * 0.5;
+        double deviation = KRONROD_WEIGHTS[7] * Math.abs(centerValue - mean);
+        for (int j = 0; j < 7; j++) {
+            deviation += KRONROD_WEIGHTS[j] * (Math.abs(values[j] - mean) + Math.abs(values[KRONROD_POINTS - 1 - j] - mean));
+        }
+
+        double length = Math.abs(halfLength);
+        double value = kronrod * halfLength;
+        absKronrod *= length;
+        deviation *= length;
+        double error = Math.abs((kronrod - gauss) * halfLength);
+        if (deviation != 0 && error != 0) {
+            error = deviation * Math.min(1.0, Math.pow(200 * error / deviation, 1.5));
+        }
+        double roundOff = 50 * Math.ulp(1.0) * absKronrod; // погрешность округления
+        if (absKronrod > Double.MIN_NORMAL / (50 * Math.ulp(1.0))) {
+            error = Math.max(roundOff, error);
+        }
+        return new KronrodSegment(left, right, value, error);
+    }
+
+    // Проверка аргументов интегрирования
+    private static void checkIntegrationArguments(Function function, double leftBorder, double rightBorder,
+                                                  double discretizationStep) {
         // Проверка корректности границ интегрирования
         if (leftBorder >= rightBorder) {
             throw new IllegalArgumentException("Левая граница интегрирования должна быть меньше правой");
@@ -44,26 +307,108 @@ public class Functions {
         if (discretizationStep <= 0) {
             throw new IllegalArgumentException("Шаг дискретизации должен быть положительным");
         }
+    }
+
+    // Количество полных шагов: наибольшее n, при котором leftBorder + n * step <= rightBorder
+    private static long countFullSteps(double leftBorder, double rightBorder, double discretizationStep) {
+        long fullSteps = (long) Math.floor((rightBorder - leftBorder) / discretizationStep);
+        while (fullSteps > 0 && leftBorder + fullSteps * discretizationStep > rightBorder) {
+            fullSteps--; // защита от ошибки округления при делении
+        }
+        return fullSteps;
+    }
 
+    // Сумма площадей трапеций на шагах [fromStep, toStep) по узлам leftBorder + i * step.
+    // Узлы вычисляются блоками через пакетный метод getFunctionValues.
+    private static double trapezoidSum(Function function, double leftBorder, double discretizationStep,
+                                       long fromStep, long toStep) {
         double integral = 0.0;
-        double currentX = leftBorder;
+        double[] values = new double[(int) Math.min(toStep - fromStep + 1, INTEGRATION_BLOCK_SIZE)];
+        double previous = 0.0; // значение в последнем узле предыдущего блока
+        long node = fromStep;
+        while (node <= toStep) {
+            int count = (int) Math.min(toStep + 1 - node, values.length);
+            function.getFunctionValues(leftBorder + node * discretizationStep, discretizationStep, count, values);
+
+            double blockSum = Kernels.CURRENT.trapezoidSum(values, count);
+            if (node > fromStep) {
+                blockSum += previous + values[0]; // трапеция на стыке блоков
+            }
+            integral += blockSum * discretizationStep / 2.0;
+
+            previous = values[count - 1];
+            node += count;
+        }
+        return integral;
+    }
 
-        // Проходим по всем полным шагам
-        while (currentX + discretizationStep <= rightBorder) {
-            double f1 = function.getFunctionValue(currentX);
-            double f2 = function.getFunctionValue(currentX + discretizationStep);
-            integral += (f1 + f2) * discretizationStep / 2.0;
-            currentX += discretizationStep;
+    // Сумма Симпсона по узлам leftBorder + i * h для i от fromNode до toNode (toNode - fromNode чётно)
+    private static double simpsonSum(Function function, double leftBorder, double h, long fromNode, long toNode) {
+        double sum = 0.0;
+        double[] values = new double[(int) Math.min(toNode - fromNode + 1, INTEGRATION_BLOCK_SIZE + 1)];
+        long node = fromNode;
+        while (node < toNode) {
+            // блок из чётного числа отрезков; крайние узлы соседних блоков вычисляются дважды
+            int count = (int) Math.min(toNode - node, values.length - 1) + 1;
+            function.getFunctionValues(leftBorder + node * h, h, count, values);
+            sum += Kernels.CURRENT.simpsonSum(values, count);
+            node += count - 1;
         }
+        return sum;
+    }
 
-        // Обрабатываем последний неполный шаг (если есть)
-        if (currentX < rightBorder) {
-            double lastStep = rightBorder - currentX;
-            double f1 = function.getFunctionValue(currentX);
-            double f2 = function.getFunctionValue(rightBorder);
-            integral += (f1 + f2) * lastStep / 2.0;
+    // Площадь последнего неполного шага (если есть)
+    private static double lastStepArea(Function function, double leftBorder, double rightBorder,
+                                       double discretizationStep, long fullSteps) {
+        double currentX = leftBorder + fullSteps * discretizationStep;
+        if (currentX >= rightBorder) {
+            return 0.0;
         }
+        double lastStep = rightBorder - currentX;
+        double f1 = function.getFunctionValue(currentX);
+        double f2 = function.getFunctionValue(rightBorder);
+        return (f1 + f2) * lastStep / 2.0;
+    }
 
-        return integral;
+    // Подзадача параллельного интегрирования: куски с номерами [fromChunk, toChunk).
+    // Дерево разбиения зависит только от числа кусков, поэтому порядок сложения фиксирован.
+    private static class IntegrationTask extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final Function function;
+        private final double leftBorder;
+        private final double discretizationStep;
+        private final long fullSteps;
+        private final long chunkSteps;
+        private final long fromChunk;
+        private final long toChunk;
+
+        IntegrationTask(Function function, double leftBorder, double discretizationStep,
+                        long fullSteps, long chunkSteps, long fromChunk, long toChunk) {
+            this.function = function;
+            this.leftBorder = leftBorder;
+            this.discretizationStep = discretizationStep;
+            this.fullSteps = fullSteps;
+            this.chunkSteps = chunkSteps;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected Double compute() {
+            if (toChunk - fromChunk == 1) {
+                long fromStep = fromChunk * chunkSteps;
+                long toStep = Math.min(fromStep + chunkSteps, fullSteps);
+                return trapezoidSum(function, leftBorder, discretizationStep, fromStep, toStep);
+            }
+            long middle = (fromChunk + toChunk) >>> 1;
+            IntegrationTask left = new IntegrationTask(function, leftBorder, discretizationStep,
+                    fullSteps, chunkSteps, fromChunk, middle);
+            IntegrationTask right = new IntegrationTask(function, leftBorder, discretizationStep,
+                    fullSteps, chunkSteps, middle, toChunk);
+            left.fork();
+            double rightSum = right.compute();
+            return left.join() + rightSum;
+        }
     }
 }
@@ -0,0 +1,79 @@
+package functions;
+
+// Поиск отрезка интерполяции в упорядоченном массиве координат X.
+// Для равномерной сетки индекс вычисляется арифметически за O(1), иначе - бинарным поиском за O(log n).
+final class GridLookup {
+    // допустимое относительное отклонение узла от равномерной сетки
+    private static final double UNIFORM_TOLERANCE = 1e-9;
+    // точек в блоке пакетного вычисления: номера отрезков блока хранятся в массиве потока
+    static final int BATCH_BLOCK_SIZE = 1024;
+    private static final ThreadLocal<int[]> SEGMENTS = ThreadLocal.withInitial(() -> new int[BATCH_BLOCK_SIZE]);
+
+    private GridLookup() {} // запрет на создание объектов
+
+    // Возвращает шаг сетки, если точки xs[0..count-1] расположены равномерно, иначе NaN
+    static double detectUniformStep(double[] xs, int count) {
+        double step = (xs[count - 1] - xs[0]) / (count - 1);
+        for (int i = 1; i < count - 1; i++) {
+            if (!onGrid(xs[0], step, i, xs[i]))
+                return Double.NaN;
+        }
+        return step;
+    }
+
+    // true, если x совпадает с узлом index равномерной сетки (origin, step) с допустимым отклонением
+    static boolean onGrid(double origin, double step, int index, double x) {
+        return Math.abs(x - (origin + index * step)) <= step * UNIFORM_TOLERANCE;
+    }
+
+    // Возвращает индекс i в [0, count - 2], такой что отрезок [xs[i], xs[i + 1]] содержит x
+    // (для x вне области - крайний отрезок). uniformStep - шаг сетки или NaN для неравномерной.
+    static int findSegment(double[] xs, int count, double uniformStep, double x) {
+        int last = count - 2;
+        int i;
+        if (!Double.isNaN(uniformStep)) { // сетка равномерная
+            double position = (x - xs[0]) / uniformStep;
+            i = position <= 0 ? 0 : position >= last ? last : (int) position;
+            // поправка на ошибку округления при делении
+            while (i < last && x >= xs[i + 1]) i++;
+            while (i > 0 && x < xs[i]) i--;
+            return i;
+        }
+
+        // бинарный поиск: инвариант xs[lo] <= x < xs[hi] для внутренних x
+        int lo = 0;
+        int hi = count - 1;
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[mid] <= x) lo = mid;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Массив потока под номера отрезков одного блока (длина BATCH_BLOCK_SIZE).
+    // Ядра NumericKernels не вызывают чужой код, поэтому повторного входа не бывает.
+    static int[] segmentsBuffer() {
+        return SEGMENTS.get();
+    }
+
+    // Номера отрезков для x = xValues[offset + k], k < n, в segments[k]. Для возрастающих x чаще всего
+    // это тот же или следующий отрезок, что у предыдущей точки (segment), остальные - через findSegment.
+    // Возвращает отрезок последней точки - начальное значение segment для следующего блока.
+    static int findSegments(double[] xs, int count, double uniformStep, double[] xValues, int offset, int n,
+                            int[] segments, int segment) {
+        int last = count - 2;
+        for (int k = 0; k < n; k++) {
+            double x = xValues[offset + k];
+            if (!(xs[segment] <= x && x < xs[segment + 1])) {
+                if (segment < last && xs[segment + 1] <= x && x < xs[segment + 2]) {
+                    segment++;
+                } else {
+                    segment = findSegment(xs, count, uniformStep, x);
+                }
+            }
+            segments[k] = segment;
+        }
+        return segment;
+    }
+}
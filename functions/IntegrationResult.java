@@ -0,0 +1,38 @@
+package functions;
+
+// Результат адаптивного интегрирования: значение, оценка погрешности и число вычислений функции
+public class IntegrationResult {
+    private final double value;          // значение интеграла
+    private final double errorEstimate;  // оценка абсолютной погрешности
+    private final long evaluations;      // сколько раз вычислялась функция
+    private final boolean converged;     // достигнута ли заданная точность в пределах бюджета
+
+    public IntegrationResult(double value, double errorEstimate, long evaluations, boolean converged) {
+        this.value = value;
+        this.errorEstimate = errorEstimate;
+        this.evaluations = evaluations;
+        this.converged = converged;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public double getErrorEstimate() {
+        return errorEstimate;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public boolean isConverged() {
+        return converged;
+    }
+
+    @Override
+    public String toString() {
+        return value + " ± " + errorEstimate + " (" + evaluations + " вычислений" +
+                (converged ? "" : ", точность не достигнута") + ")";
+    }
+}
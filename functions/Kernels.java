@@ -0,0 +1,99 @@
+package functions;
+
+// Выбор реализации NumericKernels при загрузке класса.
+// Векторные ядра подключаются, если модуль jdk.incubator.vector загружен (--add-modules)
+// и класс functions.vector.VectorNumericKernels доступен; -Dfunctions.kernels=scalar
+// принудительно включает скалярные.
+final class Kernels {
+    private static final String VECTOR_KERNELS = "functions.vector.VectorNumericKernels";
+    private static final double EPS = Math.ulp(1.0); // машинный эпсилон, как у табулированных функций
+
+    static final NumericKernels SCALAR = new Scalar();
+    static final NumericKernels CURRENT = select();
+
+    private Kernels() {} // запрет на создание объектов
+
+    private static NumericKernels select() {
+        if ("scalar".equals(System.getProperty("functions.kernels"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return SCALAR;
+        }
+        try {
+            return (NumericKernels) Class.forName(VECTOR_KERNELS).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return SCALAR; // модуля functions-vector нет на classpath или векторы не поддерживаются
+        }
+    }
+
+    // Скалярные ядра: те же вычисления, что и до появления векторных
+    private static final class Scalar implements NumericKernels {
+        @Override
+        public double trapezoidSum(double[] values, int count) {
+            double sum = 0.0;
+            for (int i = 0; i < count - 1; i++) {
+                sum += values[i] + values[i + 1];
+            }
+            return sum;
+        }
+
+        @Override
+        public double simpsonSum(double[] values, int count) {
+            double odd = 0.0;
+            double even = 0.0;
+            for (int i = 1; i < count - 1; i += 2) {
+                odd += values[i];
+            }
+            for (int i = 2; i < count - 1; i += 2) {
+                even += values[i];
+            }
+            return values[0] + 4 * odd + 2 * even + values[count - 1];
+        }
+
+        @Override
+        public void fillGrid(double start, double step, int count, double[] xs) {
+            Function.fillGrid(start, step, count, xs);
+        }
+
+        @Override
+        public void interpolate(double[] nodeXs, double[] nodeYs, double[] slopes, int[] segments,
+                                double[] xs, double[] values, int offset, int count) {
+            double left = nodeXs[0] - EPS;
+            double right = nodeXs[nodeXs.length - 1] + EPS;
+            for (int k = 0; k < count; k++) {
+                values[offset + k] = value(nodeXs, nodeYs, slopes, segments[k], xs[offset + k], left, right);
+            }
+        }
+
+        @Override
+        public void interpolate(double[] nodeXs, double[] nodeYs, int nodeCount, int[] segments,
+                                double[] xs, double[] values, int offset, int count) {
+            double left = nodeXs[0] - EPS;
+            double right = nodeXs[nodeCount - 1] + EPS;
+            for (int k = 0; k < count; k++) {
+                values[offset + k] = value(nodeXs, nodeYs, segments[k], xs[offset + k], left, right);
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "scalar";
+        }
+    }
+
+    // значение в x на отрезке s; left и right - границы области с допуском EPS
+    private static double value(double[] nodeXs, double[] nodeYs, double[] slopes, int s, double x,
+                        double left, double right) {
+        if (x < left || x > right) return Double.NaN;
+        if (Math.abs(x - nodeXs[s]) < EPS) return nodeYs[s];
+        if (Math.abs(x - nodeXs[s + 1]) < EPS) return nodeYs[s + 1];
+        return nodeYs[s] + slopes[s] * (x - nodeXs[s]);
+    }
+
+    // значение в x на отрезке s без наклонов, как в ArrayTabulatedFunction.getFunctionValue
+    private static double value(double[] nodeXs, double[] nodeYs, int s, double x, double left, double right) {
+        if (x < left || x > right) return Double.NaN;
+        if (Math.abs(x - nodeXs[s]) < EPS) return nodeYs[s];
+        if (Math.abs(x - nodeXs[s + 1]) < EPS) return nodeYs[s + 1];
+        return nodeYs[s] + (nodeYs[s + 1] - nodeYs[s]) * (x - nodeXs[s]) / (nodeXs[s + 1] - nodeXs[s]);
+    }
+}
@@ -0,0 +1,204 @@
+package functions;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Табулированная функция на равномерной сетке, вычисляющая значения при первом обращении.
+// Точки разбиты на блоки по BLOCK_SIZE; блок вычисляется целиком одним пакетным вызовом,
+// когда нужна любая его точка. Обращения из нескольких потоков безопасны: каждый блок
+// вычисляется ровно один раз, остальные потоки ждут его на блокировке блока.
+// Точки совпадают с TabulatedFunctions.tabulate с теми же аргументами.
+// Функция только для чтения: методы изменения точек выбрасывают UnsupportedOperationException.
+public class LazyTabulatedFunction implements TabulatedFunction {
+    public static final int BLOCK_SIZE = 4096;
+
+    private static final double EPS = Math.ulp(1.0); // машинный эпсилон для сравнения double
+
+    private static final int PENDING = 0;
+    private static final int READY = 1;
+
+    private final Function function;
+    private final double leftX;
+    private final double step;
+    private final int pointsCount;
+    // состояние вычисления разделяется копиями, полученными через clone
+    private final double[] ys;
+    private final AtomicIntegerArray states; // READY публикует значения блока другим потокам
+    private final Object[] locks;
+
+    public LazyTabulatedFunction(Function function, double leftX, double rightX, int pointsCount) {
+        if (leftX < function.getLeftDomainBorder() || rightX > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Границы табулирования выходят за область определения функции");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не меньше 2");
+        }
+        this.function = function;
+        this.leftX = leftX;
+        this.step = (rightX - leftX) / (pointsCount - 1);
+        this.pointsCount = pointsCount;
+        this.ys = new double[pointsCount];
+        int blocks = (pointsCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.states = new AtomicIntegerArray(blocks);
+        this.locks = new Object[blocks];
+        for (int i = 0; i < blocks; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    private LazyTabulatedFunction(LazyTabulatedFunction source) {
+        this.function = source.function;
+        this.leftX = source.leftX;
+        this.step = source.step;
+        this.pointsCount = source.pointsCount;
+        this.ys = source.ys;
+        this.states = source.states;
+        this.locks = source.locks;
+    }
+
+    public int getPointsCount() { return pointsCount; }
+    public double getLeftDomainBorder() { return leftX; }
+    public double getRightDomainBorder() { return x(pointsCount - 1); }
+
+    // количество уже вычисленных блоков
+    public int getComputedBlocksCount() {
+        int computed = 0;
+        for (int i = 0; i < states.length(); i++) {
+            if (states.get(i) == READY) computed++;
+        }
+        return computed;
+    }
+
+    public int getBlocksCount() {
+        return states.length();
+    }
+
+    // Вычисление ещё не вычисленных блоков в фоне, по порядку. Блоки, к которым в это время
+    // обращаются другие потоки, не вычисляются повторно.
+    public CompletableFuture<Void> warmUp(Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            for (int block = 0; block < states.length(); block++) {
+                ensureBlock(block);
+            }
+        }, executor);
+    }
+
+    // Копия всех точек в ArrayTabulatedFunction (вычисляет оставшиеся блоки)
+    public ArrayTabulatedFunction toArrayTabulatedFunction() {
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
+        Function.fillGrid(leftX, step, pointsCount, xValues);
+        for (int block = 0; block < states.length(); block++) {
+            ensureBlock(block);
+        }
+        System.arraycopy(ys, 0, yValues, 0, pointsCount);
+        return ArrayTabulatedFunction.fromSortedArrays(xValues, yValues);
+    }
+
+    private double x(int index) {
+        return leftX + index * step;
+    }
+
+    private double y(int index) {
+        ensureBlock(index / BLOCK_SIZE);
+        return ys[index];
+    }
+
+    private void ensureBlock(int block) {
+        if (states.get(block) == READY) return;
+        synchronized (locks[block]) {
+            if (states.get(block) == READY) return;
+            int first = block * BLOCK_SIZE;
+            int length = Math.min(BLOCK_SIZE, pointsCount - first);
+            double[] values = new double[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = x(first + i);
+            }
+            function.getFunctionValues(values, values, length);
+            System.arraycopy(values, 0, ys, first, length);
+            states.set(block, READY);
+        }
+    }
+
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() - EPS || x > getRightDomainBorder() + EPS)
+            return Double.NaN; // x вне области определения
+
+        int last = pointsCount - 2;
+        double position = (x - leftX) / step;
+        int i = position <= 0 ? 0 : position >= last ? last : (int) position;
+        while (i < last && x >= x(i + 1)) i++;
+        while (i > 0 && x < x(i)) i--;
+
+        double x1 = x(i);
+        double x2 = x(i + 1);
+        if (Math.abs(x - x1) < EPS) return y(i);
+        if (Math.abs(x - x2) < EPS) return y(i + 1);
+        double y1 = y(i);
+        double y2 = y(i + 1);
+        return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount)
+            throw new FunctionPointIndexOutOfBoundsException("индекс " + index + " вне диапазона");
+    }
+
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(x(index), y(index));
+    }
+
+    public double getPointX(int index) {
+        checkIndex(index);
+        return x(index);
+    }
+
+    public double getPointY(int index) {
+        checkIndex(index);
+        return y(index);
+    }
+
+    public void setPoint(int index, FunctionPoint point) {
+        throw TabulatedPoints.readOnly("ленивая табулированная функция");
+    }
+
+    public void setPointX(int index, double x) {
+        throw TabulatedPoints.readOnly("ленивая табулированная функция");
+    }
+
+    public void setPointY(int index, double y) {
+        throw TabulatedPoints.readOnly("ленивая табулированная функция");
+    }
+
+    public void addPoint(FunctionPoint point) {
+        throw TabulatedPoints.readOnly("ленивая табулированная функция");
+    }
+
+    public void deletePoint(int index) {
+        throw TabulatedPoints.readOnly("ленивая табулированная функция");
+    }
+
+    @Override
+    public String toString() {
+        return TabulatedPoints.toString(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return TabulatedPoints.equals(this, o);
+    }
+
+    // тот же хэш, что у ArrayTabulatedFunction и LinkedListTabulatedFunction
+    @Override
+    public int hashCode() {
+        return TabulatedPoints.hashCode(this);
+    }
+
+    // Функция неизменяема, поэтому копия разделяет с оригиналом уже вычисленные значения
+    @Override
+    public Object clone() {
+        return new LazyTabulatedFunction(this);
+    }
+}
@@ -1,59 +1,91 @@
 package functions;
 
 import java.io.*;
-
+import java.util.Arrays;
+
+// Табулированная функция на развёрнутом (unrolled) двусвязном списке: узел списка хранит
+// до CHUNK_CAPACITY точек подряд в массивах примитивов. Вставка и удаление сдвигают точки только
+// внутри одного узла, а последовательный обход идёт по массивам, а не по отдельным объектам.
+//
+// Для произвольного доступа поверх списка ведутся каталог узлов в порядке списка и дерево Фенвика
+// по числу точек в узлах:
+//   - точка по индексу - спуск по дереву Фенвика, O(log n);
+//   - точка по x - бинарный поиск по первым X узлов, затем внутри узла, O(log n);
+//     для равномерной сетки номер отрезка вычисляется арифметически и находится по индексу;
+//   - вставка и удаление - поиск, сдвиг внутри узла и обновление дерева, O(log n + CHUNK_CAPACITY).
+// Переполненный узел делится пополам, почти пустой сливается с соседом. Такая вставка или удаление
+// стоит O(n / CHUNK_CAPACITY): каталог сдвигается, а дерево перестраивается целиком. После деления
+// или слияния узлу обычно нужно около CHUNK_CAPACITY / 4 изменений до следующего.
 public class LinkedListTabulatedFunction implements TabulatedFunction, Serializable {
-    private static final long serialVersionUID = 1L;
-    // Вложенный класс узла
-    private static class FunctionNode implements Serializable {
-        FunctionPoint point;     // точка функции
+    private static final long serialVersionUID = 2L;
+
+    private static final int CHUNK_CAPACITY = 128;           // наибольшее число точек в узле
+    private static final int FILL = CHUNK_CAPACITY * 3 / 4;  // заполнение узлов при построении
+    private static final int MIN_FILL = CHUNK_CAPACITY / 4;  // меньше - узел сливается с соседом
+
+    // Вложенный класс узла: отрезок точек функции
+    private static class FunctionNode {
+        double[] xs;             // координаты X точек узла, по возрастанию
+        double[] ys;             // координаты Y
+        int count;               // количество точек в узле
         FunctionNode next;       // ссылка на следующий узел
         FunctionNode prev;       // ссылка на предыдущий узел
 
-        FunctionNode(FunctionPoint p) { point = p; }
+        FunctionNode(int capacity) {
+            xs = new double[capacity];
+            ys = new double[capacity];
+        }
+
+        // место ещё под одну точку; массивы маленьких узлов растут до CHUNK_CAPACITY
+        boolean ensureRoom() {
+            if (count < xs.length) return true;
+            if (xs.length >= CHUNK_CAPACITY) return false;
+            int capacity = Math.min(CHUNK_CAPACITY, Math.max(4, xs.length * 2));
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            return true;
+        }
     }
 
-    // Поля класса
-    private final FunctionNode head = new FunctionNode(null); // фиктивный узел
-    private int pointsCount;                                    // количество точек
+    // Поля класса (сериализуются вручную: количество точек и пары X, Y)
+    private transient FunctionNode head;         // фиктивный узел
+    private transient int pointsCount;           // количество точек
+    private transient FunctionNode[] chunks;     // каталог узлов в порядке списка
+    private transient int chunksCount;
+    private transient int[] counts;              // дерево Фенвика по числу точек узлов, индексы с 1
     private static final double EPS = Math.ulp(1.0);           // машинный эпсилон
 
-    // кэш последнего доступа
-    private transient FunctionNode lastAccessedNode = null;
-    private transient int lastAccessedIndex = -1;
+    // узел последнего поиска по x: при последовательном обходе следующий x обычно в нём же
+    private transient int lastChunk;
+
+    // шаг равномерной сетки или NaN; определяется лениво и сбрасывается при изменении X или числа точек
+    private transient double lookupStep = Double.NaN;
+    private transient boolean lookupChecked;
 
     // Конструкторы
 
     // 1) по диапазону и количеству точек (равномерное распределение X)
     public LinkedListTabulatedFunction(double leftX, double rightX, int count) {
-        if (leftX >= rightX)
-            throw new IllegalArgumentException("левый >= правый");
-        if (count < 2)
-            throw new IllegalArgumentException("кол-во точек < 2");
-
-        head.next = head.prev = head;
-        pointsCount = 0;
-
-        double step = (rightX - leftX) / (count - 1);
-        for (int i = 0; i < count; i++) {
-            addNodeToTail().point = new FunctionPoint(leftX + i * step, 0.0);
-        }
+        this(leftX, rightX, new double[Math.max(count, 0)], count);
     }
 
     // 2) по массиву значений Y
     public LinkedListTabulatedFunction(double leftX, double rightX, double[] values) {
+        this(leftX, rightX, values.clone(), values.length);
+    }
+
+    private LinkedListTabulatedFunction(double leftX, double rightX, double[] values, int count) {
         if (leftX >= rightX)
             throw new IllegalArgumentException("левый >= правый");
-        if (values.length < 2)
+        if (count < 2)
             throw new IllegalArgumentException("кол-во точек < 2");
 
-        head.next = head.prev = head;
-        pointsCount = 0;
-
-        double step = (rightX - leftX) / (values.length - 1);
-        for (int i = 0; i < values.length; i++) {
-            addNodeToTail().point = new FunctionPoint(leftX + i * step, values[i]);
+        double step = (rightX - leftX) / (count - 1);
+        double[] xValues = new double[count];
+        for (int i = 0; i < count; i++) {
+            xValues[i] = leftX + i * step;
         }
+        build(xValues, values, count);
     }
 
     // 3) по массиву FunctionPoint
@@ -67,82 +99,186 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
                 throw new IllegalArgumentException("точки не упортированы по X");
         }
 
-        head.next = head.prev = head;
-        pointsCount = 0;
-
+        double[] xValues = new double[points.length];
+        double[] yValues = new double[points.length];
         for (int i = 0; i < points.length; i++) {
-            addNodeToTail().point = new FunctionPoint(points[i]);
+            xValues[i] = points[i].getX();
+            yValues[i] = points[i].getY();
         }
+        build(xValues, yValues, points.length);
     }
 
     // Основные методы работы с узлами
 
-    // добавление узла в конец списка
-    private FunctionNode addNodeToTail() {
-        FunctionNode newNode = new FunctionNode(new FunctionPoint(0, 0));
-        if (head.next == head) { // список пуст
-            head.next = head.prev = newNode;
-            newNode.next = newNode.prev = head;
-        } else {
-            newNode.prev = head.prev;
-            newNode.next = head;
-            head.prev.next = newNode;
-            head.prev = newNode;
+    // построение списка из упорядоченных точек; узлы заполняются на FILL, чтобы вставки не делили их сразу
+    private void build(double[] xValues, double[] yValues, int count) {
+        head = new FunctionNode(0);
+        head.next = head.prev = head;
+        chunks = new FunctionNode[Math.max(4, (count + FILL - 1) / FILL * 2)];
+        chunksCount = 0;
+        for (int start = 0; start < count; start += FILL) {
+            int length = Math.min(FILL, count - start);
+            // единственный узел маленькой функции не занимает лишнего
+            FunctionNode node = new FunctionNode(count <= FILL ? count : CHUNK_CAPACITY);
+            System.arraycopy(xValues, start, node.xs, 0, length);
+            System.arraycopy(yValues, start, node.ys, 0, length);
+            node.count = length;
+            linkBefore(node, head);
+            chunks[chunksCount++] = node;
         }
+        pointsCount = count;
+        lastChunk = 0;
+        lookupChecked = false;
+        rebuildCounts();
+    }
 
-        pointsCount++;
-        lastAccessedNode = newNode;
-        lastAccessedIndex = pointsCount - 1;
+    // вставка узла node в список перед узлом next
+    private static void linkBefore(FunctionNode node, FunctionNode next) {
+        node.prev = next.prev;
+        node.next = next;
+        next.prev.next = node;
+        next.prev = node;
+    }
 
-        return newNode;
+    private static void unlink(FunctionNode node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
     }
 
-    // получение узла по индексу с кэшем
-    private FunctionNode getNodeByIndex(int index) {
+    // перестроение дерева Фенвика по каталогу узлов за O(число узлов)
+    private void rebuildCounts() {
+        if (counts == null || counts.length < chunks.length + 1) {
+            counts = new int[chunks.length + 1];
+        } else {
+            Arrays.fill(counts, 0);
+        }
+        for (int i = 1; i <= chunksCount; i++) {
+            counts[i] += chunks[i - 1].count;
+            int parent = i + (i & -i);
+            if (parent <= chunksCount) counts[parent] += counts[i];
+        }
+    }
+
+    // изменение числа точек узла с номером chunk на delta
+    private void addCount(int chunk, int delta) {
+        for (int i = chunk + 1; i <= chunksCount; i += i & -i) {
+            counts[i] += delta;
+        }
+    }
+
+    // номер узла точки с индексом index (старшие 32 бита) и её номер внутри узла (младшие)
+    private long locate(int index) {
         if (index < 0 || index >= pointsCount)
             throw new FunctionPointIndexOutOfBoundsException("индекс " + index + " вне диапазона");
 
-        if (lastAccessedNode != null && Math.abs(index - lastAccessedIndex) <= pointsCount / 2) {
-            FunctionNode node = lastAccessedNode;
-            if (index > lastAccessedIndex) {
-                for (int i = lastAccessedIndex; i < index; i++) node = node.next;
-            } else if (index < lastAccessedIndex) {
-                for (int i = lastAccessedIndex; i > index; i--) node = node.prev;
+        int position = 0;
+        int remaining = index;
+        for (int step = Integer.highestOneBit(chunksCount); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= chunksCount && counts[next] <= remaining) {
+                position = next;
+                remaining -= counts[next];
             }
-            lastAccessedNode = node;
-            lastAccessedIndex = index;
-            return node;
         }
-
-        FunctionNode node = head.next;
-        for (int i = 0; i < index; i++) node = node.next;
-        lastAccessedNode = node;
-        lastAccessedIndex = index;
-        return node;
+        return ((long) position << 32) | remaining;
     }
 
-    // удаление узла
-    private FunctionNode deleteNodeByIndex(int index) {
-        if (index < 0 || index >= pointsCount)
-            throw new FunctionPointIndexOutOfBoundsException("индекс " + index + " вне диапазона");
-        if (pointsCount <= 2)
-            throw new IllegalStateException("нельзя удалить: останется меньше 2 точек");
+    // номер узла, в котором лежит x: последний узел с первым X <= x (или первый узел)
+    private int findChunk(double x) {
+        int hint = lastChunk;
+        if (hint < chunksCount && chunks[hint].xs[0] <= x) {
+            if (hint + 1 == chunksCount || x < chunks[hint + 1].xs[0]) return hint;
+            if (hint + 2 == chunksCount || x < chunks[hint + 2].xs[0]) return lastChunk = hint + 1;
+        }
+        int lo = 0;
+        int hi = chunksCount;
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            if (chunks[mid].xs[0] <= x) lo = mid;
+            else hi = mid;
+        }
+        return lastChunk = lo;
+    }
 
-        FunctionNode node = getNodeByIndex(index);
+    // номер первой точки узла с X >= x
+    private static int lowerBound(FunctionNode node, double x) {
+        int lo = 0;
+        int hi = node.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (node.xs[mid] < x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
 
-        node.prev.next = node.next;
-        node.next.prev = node.prev;
+    // X соседних точек: предыдущей и следующей для точки offset узла chunk; NaN, если соседа нет
+    private double previousX(int chunk, int offset) {
+        if (offset > 0) return chunks[chunk].xs[offset - 1];
+        if (chunk == 0) return Double.NaN;
+        FunctionNode node = chunks[chunk - 1];
+        return node.xs[node.count - 1];
+    }
 
-        pointsCount--;
+    private double nextX(int chunk, int offset) {
+        FunctionNode node = chunks[chunk];
+        if (offset + 1 < node.count) return node.xs[offset + 1];
+        return chunk + 1 == chunksCount ? Double.NaN : chunks[chunk + 1].xs[0];
+    }
 
-        if (lastAccessedIndex == index) {
-            lastAccessedNode = null;
-            lastAccessedIndex = -1;
-        } else if (lastAccessedIndex > index) {
-            lastAccessedIndex--;
+    // вставка узла в каталог на место index
+    private void insertChunk(int index, FunctionNode node) {
+        if (chunksCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
         }
+        System.arraycopy(chunks, index, chunks, index + 1, chunksCount - index);
+        chunks[index] = node;
+        chunksCount++;
+    }
+
+    private void removeChunk(int index) {
+        unlink(chunks[index]);
+        System.arraycopy(chunks, index + 1, chunks, index, chunksCount - index - 1);
+        chunks[--chunksCount] = null;
+    }
+
+    // деление полного узла пополам; вторая половина становится следующим узлом
+    private void split(int chunk) {
+        FunctionNode node = chunks[chunk];
+        FunctionNode half = new FunctionNode(CHUNK_CAPACITY);
+        int keep = node.count / 2;
+        half.count = node.count - keep;
+        System.arraycopy(node.xs, keep, half.xs, 0, half.count);
+        System.arraycopy(node.ys, keep, half.ys, 0, half.count);
+        node.count = keep;
+        linkBefore(half, node.next);
+        insertChunk(chunk + 1, half);
+        rebuildCounts();
+    }
 
-        return node;
+    // слияние почти пустого узла с соседом или удаление пустого
+    private void compact(int chunk) {
+        FunctionNode node = chunks[chunk];
+        if (node.count == 0) {
+            removeChunk(chunk);
+            rebuildCounts();
+            return;
+        }
+        if (node.count >= MIN_FILL || chunksCount == 1) return;
+        int left = chunk > 0 && chunks[chunk - 1].count + node.count <= FILL ? chunk - 1
+                : chunk + 1 < chunksCount && chunks[chunk + 1].count + node.count <= FILL ? chunk : -1;
+        if (left < 0) return;
+        FunctionNode target = chunks[left];
+        FunctionNode source = chunks[left + 1];
+        if (target.xs.length < CHUNK_CAPACITY) {
+            target.xs = Arrays.copyOf(target.xs, CHUNK_CAPACITY);
+            target.ys = Arrays.copyOf(target.ys, CHUNK_CAPACITY);
+        }
+        System.arraycopy(source.xs, 0, target.xs, target.count, source.count);
+        System.arraycopy(source.ys, 0, target.ys, target.count, source.count);
+        target.count += source.count;
+        removeChunk(left + 1);
+        rebuildCounts();
     }
 
     // Методы TabulatedFunction
@@ -150,99 +286,247 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
     public int getPointsCount() { return pointsCount; }
 
     @Override
-    public double getLeftDomainBorder() { return head.next.point.getX(); }
+    public double getLeftDomainBorder() { return chunks[0].xs[0]; }
 
     @Override
-    public double getRightDomainBorder() { return head.prev.point.getX(); }
+    public double getRightDomainBorder() {
+        FunctionNode last = chunks[chunksCount - 1];
+        return last.xs[last.count - 1];
+    }
 
     @Override
     public double getFunctionValue(double x) {
         if (x < getLeftDomainBorder() - EPS || x > getRightDomainBorder() + EPS) return Double.NaN;
 
-        FunctionNode node = head.next;
-        while (node.next != head) {
-            double x1 = node.point.getX();
-            double x2 = node.next.point.getX();
-            if (Math.abs(x - x1) < EPS) return node.point.getY();
-            if (x > x1 - EPS && x < x2 + EPS)
-                return node.point.getY() + (node.next.point.getY() - node.point.getY()) * (x - x1) / (x2 - x1);
-            node = node.next;
+        long position = findSegment(x);
+        int chunk = (int) (position >>> 32);
+        int i = (int) position;
+        FunctionNode node = chunks[chunk];
+        double x1 = node.xs[i], y1 = node.ys[i];
+        double x2, y2;
+        if (i + 1 < node.count) {
+            x2 = node.xs[i + 1]; y2 = node.ys[i + 1];
+        } else {
+            FunctionNode next = chunks[chunk + 1];
+            x2 = next.xs[0]; y2 = next.ys[0];
         }
-        if (Math.abs(x - head.prev.point.getX()) < EPS) return head.prev.point.getY();
-        return Double.NaN;
+        if (Math.abs(x - x1) < EPS) return y1;
+        if (Math.abs(x - x2) < EPS) return y2;
+        return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    }
+
+    // левая точка отрезка интерполяции для x: номер узла (старшие 32 бита) и номер в узле (младшие)
+    private long findSegment(double x) {
+        if (!lookupChecked) detectStep();
+        if (!Double.isNaN(lookupStep)) {
+            // равномерная сетка: номер отрезка арифметически, точка - по индексу
+            int last = pointsCount - 2;
+            double index = (x - getLeftDomainBorder()) / lookupStep;
+            int segment = index <= 0 ? 0 : index >= last ? last : (int) index;
+            long position = locate(segment);
+            int chunk = (int) (position >>> 32);
+            int offset = (int) position;
+            // при ошибке округления деления - обычный поиск
+            if ((segment == 0 || chunks[chunk].xs[offset] <= x) && (segment == last || x < nextX(chunk, offset)))
+                return position;
+        }
+
+        // точка с наибольшим X <= x
+        int chunk = findChunk(x);
+        FunctionNode node = chunks[chunk];
+        int i = Math.max(lowerBound(node, x) - 1, 0);
+        if (i + 1 < node.count && node.xs[i + 1] == x) i++;
+        if (i + 1 == node.count && chunk + 1 == chunksCount) {
+            // последняя точка функции - крайний правый отрезок
+            if (i > 0) {
+                i--;
+            } else {
+                i = chunks[--chunk].count - 1;
+            }
+        }
+        return ((long) chunk << 32) | i;
+    }
+
+    // проверка, что точки лежат на равномерной сетке (как GridLookup.detectUniformStep)
+    private void detectStep() {
+        double left = getLeftDomainBorder();
+        double step = (getRightDomainBorder() - left) / (pointsCount - 1);
+        int index = 0;
+        lookupStep = step;
+        for (FunctionNode node = head.next; node != head && !Double.isNaN(lookupStep); node = node.next) {
+            for (int i = 0; i < node.count; i++, index++) {
+                if (index > 0 && index < pointsCount - 1 && !GridLookup.onGrid(left, step, index, node.xs[i])) {
+                    lookupStep = Double.NaN;
+                    break;
+                }
+            }
+        }
+        lookupChecked = true;
     }
 
     @Override
     public FunctionPoint getPoint(int index) {
-        return new FunctionPoint(getNodeByIndex(index).point);
+        long position = locate(index);
+        FunctionNode node = chunks[(int) (position >>> 32)];
+        int offset = (int) position;
+        return new FunctionPoint(node.xs[offset], node.ys[offset]);
     }
 
     @Override
     public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
-        FunctionNode node = getNodeByIndex(index);
-        double x = point.getX();
-        if ((node.prev != head && x <= node.prev.point.getX()) ||
-                (node.next != head && x >= node.next.point.getX()))
+        long position = locate(index);
+        checkOrder((int) (position >>> 32), (int) position, point.getX());
+        FunctionNode node = chunks[(int) (position >>> 32)];
+        node.xs[(int) position] = point.getX();
+        node.ys[(int) position] = point.getY();
+        lookupChecked = false;
+    }
+
+    // новый X точки должен остаться строго между X соседних точек
+    private void checkOrder(int chunk, int offset, double x) throws InappropriateFunctionPointException {
+        double previous = previousX(chunk, offset);
+        double next = nextX(chunk, offset);
+        if ((!Double.isNaN(previous) && x <= previous) || (!Double.isNaN(next) && x >= next))
             throw new InappropriateFunctionPointException("X вне порядка");
-        node.point = new FunctionPoint(point);
     }
 
     @Override
-    public double getPointX(int index) { return getNodeByIndex(index).point.getX(); }
+    public double getPointX(int index) {
+        long position = locate(index);
+        return chunks[(int) (position >>> 32)].xs[(int) position];
+    }
 
     @Override
     public void setPointX(int index, double x) throws InappropriateFunctionPointException {
-        FunctionNode node = getNodeByIndex(index);
-        if ((node.prev != head && x <= node.prev.point.getX()) ||
-                (node.next != head && x >= node.next.point.getX()))
-            throw new InappropriateFunctionPointException("X вне порядка");
-        node.point.setX(x);
+        long position = locate(index);
+        checkOrder((int) (position >>> 32), (int) position, x);
+        chunks[(int) (position >>> 32)].xs[(int) position] = x;
+        lookupChecked = false;
     }
 
     @Override
-    public double getPointY(int index) { return getNodeByIndex(index).point.getY(); }
+    public double getPointY(int index) {
+        long position = locate(index);
+        return chunks[(int) (position >>> 32)].ys[(int) position];
+    }
 
     @Override
-    public void setPointY(int index, double y) { getNodeByIndex(index).point.setY(y); }
+    public void setPointY(int index, double y) {
+        long position = locate(index);
+        chunks[(int) (position >>> 32)].ys[(int) position] = y;
+    }
 
     @Override
     public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
-        FunctionNode node = head.next;
-        while (node != head) {
-            if (Math.abs(node.point.getX() - point.getX()) < EPS)
-                throw new InappropriateFunctionPointException("дубликат X");
-            node = node.next;
+        double x = point.getX();
+        int chunk = findChunk(x);
+        int offset = lowerBound(chunks[chunk], x);
+
+        // ближайшие соседи по обе стороны - других точек ближе EPS быть не может
+        double previous = previousX(chunk, offset);
+        double next = offset < chunks[chunk].count ? chunks[chunk].xs[offset] : nextX(chunk, offset - 1);
+        if (Math.abs(previous - x) < EPS || Math.abs(next - x) < EPS)
+            throw new InappropriateFunctionPointException("дубликат X");
+
+        if (!chunks[chunk].ensureRoom()) {
+            split(chunk);
+            int keep = chunks[chunk].count;
+            if (offset > keep) {
+                chunk++;
+                offset -= keep;
+            }
         }
+        FunctionNode node = chunks[chunk];
+        System.arraycopy(node.xs, offset, node.xs, offset + 1, node.count - offset);
+        System.arraycopy(node.ys, offset, node.ys, offset + 1, node.count - offset);
+        node.xs[offset] = x;
+        node.ys[offset] = point.getY();
+        node.count++;
+        addCount(chunk, 1);
+        pointsCount++;
+        lookupChecked = false;
+    }
 
-        FunctionNode newNode = new FunctionNode(new FunctionPoint(point));
+    @Override
+    public void deletePoint(int index) {
+        long position = locate(index);
+        if (pointsCount <= 2)
+            throw new IllegalStateException("нельзя удалить: останется меньше 2 точек");
 
-        node = head.next;
-        while (node != head && node.point.getX() < point.getX())
-            node = node.next;
+        int chunk = (int) (position >>> 32);
+        int offset = (int) position;
+        FunctionNode node = chunks[chunk];
+        System.arraycopy(node.xs, offset + 1, node.xs, offset, node.count - offset - 1);
+        System.arraycopy(node.ys, offset + 1, node.ys, offset, node.count - offset - 1);
+        node.count--;
+        addCount(chunk, -1);
+        pointsCount--;
+        lookupChecked = false;
+        compact(chunk);
+    }
 
-        newNode.prev = node.prev;
-        newNode.next = node;
-        node.prev.next = newNode;
-        node.prev = newNode;
+    // неизменяемая копия: узлы копируются целиком, без поиска каждой точки по индексу
+    @Override
+    public FrozenTabulatedFunction freeze() {
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
+        copyPoints(xValues, yValues);
+        return new FrozenTabulatedFunction(xValues, yValues);
+    }
 
-        pointsCount++;
+    // копирование координат всех точек в массивы по порядку
+    private void copyPoints(double[] xValues, double[] yValues) {
+        int index = 0;
+        for (FunctionNode node = head.next; node != head; node = node.next) {
+            System.arraycopy(node.xs, 0, xValues, index, node.count);
+            System.arraycopy(node.ys, 0, yValues, index, node.count);
+            index += node.count;
+        }
     }
 
-    @Override
-    public void deletePoint(int index) { deleteNodeByIndex(index); }
+    // Сериализация: количество точек и пары X, Y вместо внутренней структуры узлов
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(pointsCount);
+        for (FunctionNode node = head.next; node != head; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                out.writeDouble(node.xs[i]);
+                out.writeDouble(node.ys[i]);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        if (count < 2)
+            throw new InvalidObjectException("кол-во точек < 2");
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        for (int i = 0; i < count; i++) {
+            xValues[i] = in.readDouble();
+            yValues[i] = in.readDouble();
+            if (i > 0 && !(xValues[i] > xValues[i - 1]))
+                throw new InvalidObjectException("точки не упорядочены по X");
+        }
+        build(xValues, yValues, count);
+    }
 
     // Переопределение метода toString()
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("{");
-        FunctionNode current = head.next;
-        while (current != head) {
-            sb.append(current.point.toString());
-            if (current.next != head) {
-                sb.append(", ");
+        boolean first = true;
+        for (FunctionNode node = head.next; node != head; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                // тот же вид, что у FunctionPoint.toString()
+                TabulatedPoints.appendPoint(sb, node.xs[i], node.ys[i]);
+                first = false;
             }
-            current = current.next;
         }
         sb.append("}");
         return sb.toString();
@@ -258,32 +542,33 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
         // Проверка количества точек
         if (this.getPointsCount() != that.getPointsCount()) return false;
 
-        // Оптимизация для ArrayTabulatedFunction
-        if (o instanceof ArrayTabulatedFunction) {
-            ArrayTabulatedFunction other = (ArrayTabulatedFunction) o;
-            for (int i = 0; i < pointsCount; i++) {
-                // Используем getPoint() для обеих функций
-                if (!this.getPoint(i).equals(other.getPoint(i))) {
-                    return false;
-                }
-            }
-        }
-        // Оптимизация для LinkedListTabulatedFunction
-        else if (o instanceof LinkedListTabulatedFunction) {
+        // Оптимизация для LinkedListTabulatedFunction: параллельный обход обоих списков
+        if (o instanceof LinkedListTabulatedFunction) {
             LinkedListTabulatedFunction other = (LinkedListTabulatedFunction) o;
-            // Используем прямое сравнение узлов через приватный метод getNodeByIndex()
-            for (int i = 0; i < pointsCount; i++) {
-                if (!this.getNodeByIndex(i).point.equals(other.getNodeByIndex(i).point)) {
-                    return false;
+            FunctionNode otherNode = other.head.next;
+            int j = 0;
+            for (FunctionNode node = head.next; node != head; node = node.next) {
+                for (int i = 0; i < node.count; i++) {
+                    if (j == otherNode.count) {
+                        otherNode = otherNode.next;
+                        j = 0;
+                    }
+                    if (Double.compare(node.xs[i], otherNode.xs[j]) != 0 ||
+                            Double.compare(node.ys[i], otherNode.ys[j]) != 0) {
+                        return false;
+                    }
+                    j++;
                 }
             }
         } else {
-            // Общий случай для любого TabulatedFunction
-            for (int i = 0; i < pointsCount; i++) {
-                FunctionPoint thisPoint = this.getPoint(i);
-                FunctionPoint thatPoint = that.getPoint(i);
-                if (!thisPoint.equals(thatPoint)) {
-                    return false;
+            // Общий случай для любого TabulatedFunction (в т.ч. ArrayTabulatedFunction)
+            int index = 0;
+            for (FunctionNode node = head.next; node != head; node = node.next) {
+                for (int i = 0; i < node.count; i++, index++) {
+                    if (Double.compare(node.xs[i], that.getPointX(index)) != 0 ||
+                            Double.compare(node.ys[i], that.getPointY(index)) != 0) {
+                        return false;
+                    }
                 }
             }
         }
@@ -295,10 +580,11 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
     public int hashCode() {
         int hash = pointsCount; // включаем количество точек в хэш
 
-        FunctionNode current = head.next;
-        while (current != head) {
-            hash ^= current.point.hashCode(); // XOR с хэш-кодом каждой точки
-            current = current.next;
+        // XOR с хэш-кодом каждой точки (как FunctionPoint.hashCode())
+        for (FunctionNode node = head.next; node != head; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                hash = TabulatedPoints.mix(hash, node.xs[i], node.ys[i]);
+            }
         }
 
         return hash;
@@ -307,18 +593,16 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
     // Переопределение метода clone()
     @Override
     public Object clone() {
-        // "Пересборка" нового списка без использования методов добавления
-        FunctionPoint[] pointsArray = new FunctionPoint[pointsCount];
-
-        // Собираем массив точек из текущего списка
-        FunctionNode current = head.next;
-        int index = 0;
-        while (current != head) {
-            pointsArray[index++] = (FunctionPoint) current.point.clone(); // клонируем точку
-            current = current.next;
-        }
+        // "Пересборка" нового списка из массивов точек
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
+        copyPoints(xValues, yValues);
+        LinkedListTabulatedFunction copy = new LinkedListTabulatedFunction();
+        copy.build(xValues, yValues, pointsCount);
+        return copy;
+    }
 
-        // Создаем новый список через конструктор
-        return new LinkedListTabulatedFunction(pointsArray);
+    // для clone: список заполняется методом build
+    private LinkedListTabulatedFunction() {
     }
-}
\ No newline at end of file
+}
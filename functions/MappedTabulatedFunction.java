@@ -0,0 +1,137 @@
+package functions;
+
+import java.nio.DoubleBuffer;
+
+// Табулированная функция, читающая точки прямо из отображённого в память файла
+// двоичного формата (см. TabulatedFunctions.mapBinaryTabulatedFunction) без копирования.
+// Функция только для чтения: методы изменения точек выбрасывают UnsupportedOperationException.
+// Для равномерной сетки X не хранятся и вычисляются как left + i * step.
+public class MappedTabulatedFunction implements TabulatedFunction {
+    private static final double EPS = Math.ulp(1.0); // машинный эпсилон для сравнения double
+
+    private final DoubleBuffer xs;   // координаты X или null для равномерной сетки
+    private final DoubleBuffer ys;   // координаты Y
+    private final int pointsCount;
+    private final double leftX;
+    private final double rightX;
+    private final double step;       // шаг равномерной сетки
+
+    MappedTabulatedFunction(DoubleBuffer xs, DoubleBuffer ys, int pointsCount, double leftX, double rightX) {
+        this.xs = xs;
+        this.ys = ys;
+        this.pointsCount = pointsCount;
+        this.leftX = leftX;
+        this.rightX = rightX;
+        this.step = (rightX - leftX) / (pointsCount - 1);
+    }
+
+    public int getPointsCount() { return pointsCount; }
+    public double getLeftDomainBorder() { return leftX; }
+    public double getRightDomainBorder() { return rightX; }
+
+    // true, если X не хранятся в файле (равномерная сетка)
+    public boolean isUniformGrid() {
+        return xs == null;
+    }
+
+    private double x(int index) {
+        return xs == null ? leftX + index * step : xs.get(index);
+    }
+
+    public double getFunctionValue(double x) {
+        if (x < leftX - EPS || x > rightX + EPS)
+            return Double.NaN; // x вне области определения
+
+        int i = findSegment(x);
+        double x1 = x(i);
+        double x2 = x(i + 1);
+        if (Math.abs(x - x1) < EPS) return ys.get(i);
+        if (Math.abs(x - x2) < EPS) return ys.get(i + 1);
+        double y1 = ys.get(i);
+        double y2 = ys.get(i + 1);
+        return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    }
+
+    // индекс отрезка [x(i), x(i + 1)], содержащего x: O(1) для равномерной сетки, иначе бинарный поиск
+    private int findSegment(double x) {
+        int last = pointsCount - 2;
+        if (xs == null) {
+            double position = (x - leftX) / step;
+            int i = position <= 0 ? 0 : position >= last ? last : (int) position;
+            while (i < last && x >= x(i + 1)) i++;
+            while (i > 0 && x < x(i)) i--;
+            return i;
+        }
+        int lo = 0;
+        int hi = pointsCount - 1;
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            if (xs.get(mid) <= x) lo = mid;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount)
+            throw new FunctionPointIndexOutOfBoundsException("индекс " + index + " вне диапазона");
+    }
+
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(x(index), ys.get(index));
+    }
+
+    public double getPointX(int index) {
+        checkIndex(index);
+        return x(index);
+    }
+
+    public double getPointY(int index) {
+        checkIndex(index);
+        return ys.get(index);
+    }
+
+    public void setPoint(int index, FunctionPoint point) {
+        throw TabulatedPoints.readOnly("отображённая из файла функция");
+    }
+
+    public void setPointX(int index, double x) {
+        throw TabulatedPoints.readOnly("отображённая из файла функция");
+    }
+
+    public void setPointY(int index, double y) {
+        throw TabulatedPoints.readOnly("отображённая из файла функция");
+    }
+
+    public void addPoint(FunctionPoint point) {
+        throw TabulatedPoints.readOnly("отображённая из файла функция");
+    }
+
+    public void deletePoint(int index) {
+        throw TabulatedPoints.readOnly("отображённая из файла функция");
+    }
+
+    @Override
+    public String toString() {
+        return TabulatedPoints.toString(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return TabulatedPoints.equals(this, o);
+    }
+
+    // тот же хэш, что у ArrayTabulatedFunction и LinkedListTabulatedFunction
+    @Override
+    public int hashCode() {
+        return TabulatedPoints.hashCode(this);
+    }
+
+    // Функция неизменяема, поэтому копия разделяет с оригиналом отображённые данные
+    @Override
+    public Object clone() {
+        return new MappedTabulatedFunction(xs == null ? null : xs.duplicate(), ys.duplicate(),
+                pointsCount, leftX, rightX);
+    }
+}
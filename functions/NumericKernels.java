@@ -0,0 +1,46 @@
+package functions;
+
+// Вычислительные ядра над массивами double, которые можно векторизовать (SIMD).
+//
+// Реализация выбирается один раз при запуске (см. current): векторная из модуля functions-vector
+// на Vector API (jdk.incubator.vector), если JVM запущена с --add-modules jdk.incubator.vector
+// и модуль на classpath, иначе скалярная.
+// Векторные суммы складывают слагаемые в другом порядке, поэтому результаты Integrate могут
+// отличаться от скалярных в последних битах; интерполяция и заполнение сетки совпадают побитово.
+public interface NumericKernels {
+    // Σ (values[i] + values[i + 1]) для i от 0 до count - 2: удвоенная сумма трапеций с шагом 1
+    double trapezoidSum(double[] values, int count);
+
+    // values[0] + 4 values[1] + 2 values[2] + ... + 4 values[count - 2] + values[count - 1]
+    // для нечётного count >= 3: утроенная сумма формулы Симпсона с шагом 1
+    double simpsonSum(double[] values, int count);
+
+    // Узлы равномерной сетки: xs[i] = start + i * step для i от 0 до count - 1 (как Function.fillGrid)
+    void fillGrid(double start, double step, int count, double[] xs);
+
+    // Линейная интерполяция по узлам nodeXs/nodeYs с наклонами slopes (как FrozenTabulatedFunction):
+    // для k < count в values[offset + k] записывается значение в x = xs[offset + k] на отрезке segments[k]:
+    //   NaN вне [nodeXs[0] - EPS, nodeXs[n - 1] + EPS], y узла при |x - x узла| < EPS,
+    //   иначе nodeYs[s] + slopes[s] * (x - nodeXs[s]).
+    // Массивы xs и values могут совпадать.
+    void interpolate(double[] nodeXs, double[] nodeYs, double[] slopes, int[] segments,
+                     double[] xs, double[] values, int offset, int count);
+
+    // То же по первым nodeCount узлам без заранее вычисленных наклонов (как ArrayTabulatedFunction):
+    // значение между узлами - nodeYs[s] + (nodeYs[s + 1] - nodeYs[s]) * (x - nodeXs[s]) / (nodeXs[s + 1] - nodeXs[s])
+    void interpolate(double[] nodeXs, double[] nodeYs, int nodeCount, int[] segments,
+                     double[] xs, double[] values, int offset, int count);
+
+    // имя реализации для отчётов: "scalar" или "vector(...)"
+    String getName();
+
+    // Ядра, выбранные при запуске
+    static NumericKernels current() {
+        return Kernels.CURRENT;
+    }
+
+    // Скалярные ядра (эталон для сравнения)
+    static NumericKernels scalar() {
+        return Kernels.SCALAR;
+    }
+}
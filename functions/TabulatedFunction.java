@@ -35,4 +35,9 @@ public interface TabulatedFunction extends Function, Cloneable {
 
     //возвращает копию объекта табулированной функции
     Object clone();
+
+    //возвращает неизменяемую копию точек, которую можно передавать между потоками без блокировок
+    default FrozenTabulatedFunction freeze() {
+        return FrozenTabulatedFunction.of(this);
+    }
 }
\ No newline at end of file
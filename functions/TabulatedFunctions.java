@@ -1,33 +1,195 @@
 package functions;
 
+import functions.metrics.Metrics;
 import java.io.*;
-import java.io.StreamTokenizer;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 public class TabulatedFunctions {
 
     private TabulatedFunctions() {} // запрет на создание объектов
 
+    // точек в одном куске потокового табулирования
+    public static final int STREAM_CHUNK_SIZE = 1 << 16;
+
     // Табулирование функции
     public static TabulatedFunction tabulate(Function function, double leftX, double rightX, int pointsCount) {
+        checkTabulationArguments(function, leftX, rightX, pointsCount);
+        long start = Metrics.start();
+
+        double[] yValues = new double[pointsCount];
+        double step = (rightX - leftX) / (pointsCount - 1);
+        double[] xValues = new double[pointsCount];
+        Function.fillGrid(leftX, step, pointsCount, xValues);
+        function.getFunctionValues(xValues, yValues, pointsCount); // пакетное вычисление на сетке
+
+        recordTabulation(start, pointsCount);
+        // массивы созданы здесь и уже упорядочены - передаются без копирования
+        return ArrayTabulatedFunction.fromSortedArrays(xValues, yValues);
+    }
+
+    // Параллельное табулирование: значения вычисляются кусками в общем пуле ForkJoinPool,
+    // поэтому функция должна допускать вызов из нескольких потоков. Результат совпадает с tabulate.
+    public static TabulatedFunction tabulateParallel(Function function, double leftX, double rightX, int pointsCount) {
+        return tabulateParallel(function, leftX, rightX, pointsCount, ForkJoinPool.commonPool());
+    }
+
+    public static TabulatedFunction tabulateParallel(Function function, double leftX, double rightX,
+                                                     int pointsCount, ForkJoinPool pool) {
+        checkTabulationArguments(function, leftX, rightX, pointsCount);
+        long start = Metrics.start();
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
+        Function.fillGrid(leftX, (rightX - leftX) / (pointsCount - 1), pointsCount, xValues);
+        pool.invoke(new TabulationTask(function, xValues, yValues, 0, pointsCount));
+        recordTabulation(start, pointsCount);
+        return ArrayTabulatedFunction.fromSortedArrays(xValues, yValues);
+    }
+
+    // Ленивое табулирование: значения вычисляются блоками при первом обращении (см. LazyTabulatedFunction)
+    public static LazyTabulatedFunction tabulateLazy(Function function, double leftX, double rightX, int pointsCount) {
+        return new LazyTabulatedFunction(function, leftX, rightX, pointsCount);
+    }
+
+    // То же с фоновым вычислением оставшихся блоков в общем пуле ForkJoinPool
+    public static LazyTabulatedFunction tabulateLazy(Function function, double leftX, double rightX,
+                                                     int pointsCount, boolean warmInBackground) {
+        LazyTabulatedFunction result = new LazyTabulatedFunction(function, leftX, rightX, pointsCount);
+        if (warmInBackground) {
+            result.warmUp(ForkJoinPool.commonPool());
+        }
+        return result;
+    }
+
+    // ПОТОКОВОЕ ТАБУЛИРОВАНИЕ
+
+    // Табулирование в приёмник кусками по STREAM_CHUNK_SIZE точек без построения всей таблицы.
+    // Куски вычисляются параллельно в общем пуле ForkJoinPool, поэтому функция должна допускать
+    // вызов из нескольких потоков; приёмник получает куски по порядку в вызывающем потоке.
+    // Точки совпадают с точками tabulate: x[i] = leftX + i * (rightX - leftX) / (pointsCount - 1).
+    public static void tabulate(Function function, double leftX, double rightX, long pointsCount,
+                                TabulationSink sink) throws IOException {
+        tabulate(function, leftX, rightX, pointsCount, sink, ForkJoinPool.commonPool());
+    }
+
+    // То же в заданном пуле. В памяти одновременно не больше (parallelism + 1) кусков.
+    public static void tabulate(Function function, double leftX, double rightX, long pointsCount,
+                                TabulationSink sink, ForkJoinPool pool) throws IOException {
+        checkTabulationArguments(function, leftX, rightX, pointsCount);
+        long start = Metrics.start();
+        double step = (rightX - leftX) / (pointsCount - 1);
+        long chunks = (pointsCount + STREAM_CHUNK_SIZE - 1) / STREAM_CHUNK_SIZE;
+        int window = pool.getParallelism() + 1;
+        ArrayDeque<ForkJoinTask<StreamChunk>> pending = new ArrayDeque<>();
+        ArrayDeque<StreamChunk> free = new ArrayDeque<>(); // буферы уже переданных кусков
+
+        sink.start(leftX, rightX, pointsCount);
+        boolean delivered = false;
+        try {
+            long next = 0;
+            for (long chunkIndex = 0; chunkIndex < chunks; chunkIndex++) {
+                // очередь заданий пополняется до размера окна
+                while (next < chunks && pending.size() < window) {
+                    StreamChunk chunk = free.isEmpty() ? new StreamChunk() : free.poll();
+                    long first = next * STREAM_CHUNK_SIZE;
+                    int length = (int) Math.min(STREAM_CHUNK_SIZE, pointsCount - first);
+                    pending.add(pool.submit(() -> chunk.fill(function, leftX, step, first, length)));
+                    next++;
+                }
+                StreamChunk chunk = pending.poll().join();
+                sink.accept(chunk.xs, chunk.ys, chunk.length);
+                free.add(chunk);
+            }
+            delivered = true;
+        } finally {
+            if (!delivered) {
+                for (ForkJoinTask<StreamChunk> task : pending) {
+                    task.cancel(false);
+                }
+                sink.abort();
+            }
+        }
+        sink.finish();
+        recordTabulation(start, pointsCount);
+    }
+
+    // Приёмник, записывающий двоичный файл с равномерной сеткой (формат BinaryTabulatedFormat);
+    // файл читается readBinaryTabulatedFunction и mapBinaryTabulatedFunction
+    public static TabulationSink binaryFileSink(Path path) {
+        return BinaryTabulatedFormat.sink(path);
+    }
+
+    // Приёмник, записывающий точки в текстовом формате writeTabulatedFunction; поток не закрывается
+    public static TabulationSink textSink(Writer out) {
+        return TextTabulatedCodec.sink(out);
+    }
+
+    private static void checkTabulationArguments(Function function, double leftX, double rightX, long pointsCount) {
         if (leftX < function.getLeftDomainBorder() || rightX > function.getRightDomainBorder()) {
             throw new IllegalArgumentException("Границы табулирования выходят за область определения функции");
         }
         if (pointsCount < 2) {
             throw new IllegalArgumentException("Количество точек должно быть не меньше 2");
         }
+    }
 
-        double[] yValues = new double[pointsCount];
-        double step = (rightX - leftX) / (pointsCount - 1);
-        for (int i = 0; i < pointsCount; i++) {
-            double x = leftX + i * step;
-            yValues[i] = function.getFunctionValue(x);
+    // Подзадача параллельного табулирования: точки с номерами [from, to)
+    private static class TabulationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int THRESHOLD = 4096; // точек, вычисляемых без дальнейшего деления
+
+        private final Function function;
+        private final double[] xValues;
+        private final double[] yValues;
+        private final int from;
+        private final int to;
+
+        TabulationTask(Function function, double[] xValues, double[] yValues, int from, int to) {
+            this.function = function;
+            this.xValues = xValues;
+            this.yValues = yValues;
+            this.from = from;
+            this.to = to;
         }
 
-        return new ArrayTabulatedFunction(leftX, rightX, yValues);
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                // пакетные методы работают с начала массива, поэтому кусок вычисляется в буфере
+                double[] block = Arrays.copyOfRange(xValues, from, to);
+                function.getFunctionValues(block, block, block.length);
+                System.arraycopy(block, 0, yValues, from, block.length);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new TabulationTask(function, xValues, yValues, from, middle),
+                    new TabulationTask(function, xValues, yValues, middle, to));
+        }
+    }
+
+    // Буфер одного куска потокового табулирования
+    private static final class StreamChunk {
+        final double[] xs = new double[STREAM_CHUNK_SIZE];
+        final double[] ys = new double[STREAM_CHUNK_SIZE];
+        int length;
+
+        StreamChunk fill(Function function, double leftX, double step, long first, int length) {
+            for (int i = 0; i < length; i++) {
+                xs[i] = leftX + (first + i) * step;
+            }
+            function.getFunctionValues(xs, ys, length);
+            this.length = length;
+            return this;
+        }
     }
 
     // БИНАРНЫЙ ВЫВОД
     public static void outputTabulatedFunction(TabulatedFunction function, OutputStream out) {
+        long start = Metrics.start();
         try {
             DataOutputStream dataOut = new DataOutputStream(out);
             int count = function.getPointsCount();
@@ -38,6 +200,7 @@ public class TabulatedFunctions {
                 dataOut.writeDouble(p.getY());
             }
             dataOut.flush();
+            recordWrite(start, count);
         } catch (IOException e) {
             System.err.println("Ошибка записи табулированной функции: " + e.getMessage());
         }
@@ -45,68 +208,104 @@ public class TabulatedFunctions {
 
     // БИНАРНЫЙ ВВОД
     public static TabulatedFunction inputTabulatedFunction(InputStream in) {
+        long start = Metrics.start();
         try {
             DataInputStream dataIn = new DataInputStream(in);
             int count = dataIn.readInt();
+            double[] xValues = new double[count];
             double[] yValues = new double[count];
-            double leftX = 0;
-            double rightX = 0;
             for (int i = 0; i < count; i++) {
-                double x = dataIn.readDouble();
-                double y = dataIn.readDouble();
-                yValues[i] = y;
-                if (i == 0) leftX = x;
-                if (i == count - 1) rightX = x;
+                xValues[i] = dataIn.readDouble();
+                yValues[i] = dataIn.readDouble();
             }
-            return new ArrayTabulatedFunction(leftX, rightX, yValues);
+            // сохраняются реальные X, поэтому неравномерная сетка читается без искажений
+            return recordRead(start, new ArrayTabulatedFunction(xValues, yValues));
         } catch (IOException e) {
             System.err.println("Ошибка чтения табулированной функции: " + e.getMessage());
             return null;
         }
     }
 
-    // ТЕКСТОВЫЙ ВЫВОД
+    // ДВОИЧНЫЙ ФАЙЛ С ЗАГОЛОВКОМ (формат описан в BinaryTabulatedFormat)
+
+    // Запись функции в файл через FileChannel
+    public static void writeBinaryTabulatedFunction(TabulatedFunction function, Path path) throws IOException {
+        long start = Metrics.start();
+        BinaryTabulatedFormat.write(function, path);
+        recordWrite(start, function.getPointsCount());
+    }
+
+    // Чтение файла с проверкой контрольной суммы; точки копируются в ArrayTabulatedFunction
+    public static ArrayTabulatedFunction readBinaryTabulatedFunction(Path path) throws IOException {
+        long start = Metrics.start();
+        return recordRead(start, BinaryTabulatedFormat.read(path));
+    }
+
+    // Отображение файла в память: точки читаются прямо из файла без копирования
+    public static MappedTabulatedFunction mapBinaryTabulatedFunction(Path path) throws IOException {
+        return mapBinaryTabulatedFunction(path, true);
+    }
+
+    // То же без проверки контрольной суммы - не требует прохода по всему файлу при открытии
+    public static MappedTabulatedFunction mapBinaryTabulatedFunction(Path path, boolean verifyChecksum) throws IOException {
+        long start = Metrics.start();
+        return recordRead(start, BinaryTabulatedFormat.map(path, verifyChecksum));
+    }
+
+    // ТЕКСТОВЫЙ ВЫВОД (формат и разбор чисел описаны в TextTabulatedCodec)
     public static void writeTabulatedFunction(TabulatedFunction function, Writer out) {
+        long start = Metrics.start();
         try {
-            int count = function.getPointsCount();
-            out.write(count + "\n");
-            for (int i = 0; i < count; i++) {
-                FunctionPoint p = function.getPoint(i);
-                out.write(p.getX() + " " + p.getY() + "\n");
-            }
-            out.flush();
+            TextTabulatedCodec.write(function, out);
+            recordWrite(start, function.getPointsCount());
         } catch (IOException e) {
             System.err.println("Ошибка записи табулированной функции в текстовый поток: " + e.getMessage());
         }
     }
 
-    // ТЕКСТОВЫЙ ВВОД (StreamTokenizer)
+    // ТЕКСТОВЫЙ ВВОД
     public static TabulatedFunction readTabulatedFunction(Reader in) {
+        long start = Metrics.start();
         try {
-            StreamTokenizer tokenizer = new StreamTokenizer(in);
-            tokenizer.parseNumbers();
-            tokenizer.eolIsSignificant(false);
-
-            tokenizer.nextToken();
-            int count = (int) tokenizer.nval;
-            double[] yValues = new double[count];
-            double leftX = 0;
-            double rightX = 0;
-
-            for (int i = 0; i < count; i++) {
-                tokenizer.nextToken();
-                double x = tokenizer.nval;
-                tokenizer.nextToken();
-                double y = tokenizer.nval;
-                yValues[i] = y;
-                if (i == 0) leftX = x;
-                if (i == count - 1) rightX = x;
-            }
-
-            return new ArrayTabulatedFunction(leftX, rightX, yValues);
+            // сохраняются реальные X, поэтому неравномерная сетка читается без искажений
+            return recordRead(start, TextTabulatedCodec.read(in));
         } catch (IOException e) {
             System.err.println("Ошибка чтения табулированной функции из текстового потока: " + e.getMessage());
             return null;
         }
     }
+
+    // Параллельное чтение текстового файла: файл делится на куски по границам строк,
+    // куски разбираются в parallelism потоках и склеиваются по порядку
+    public static ArrayTabulatedFunction readTabulatedFunction(Path path, int parallelism) throws IOException {
+        long start = Metrics.start();
+        return recordRead(start, TextTabulatedCodec.readParallel(path, parallelism));
+    }
+
+    // УЧЁТ В МЕТРИКАХ (см. functions.metrics.Metrics)
+
+    private static void recordTabulation(long start, long pointsCount) {
+        if (Metrics.ENABLED) {
+            Metrics.TABULATIONS.increment();
+            Metrics.TABULATED_POINTS.add(pointsCount);
+            Metrics.stop(Metrics.TABULATION_NANOS, start);
+        }
+    }
+
+    private static <T extends TabulatedFunction> T recordRead(long start, T function) {
+        if (Metrics.ENABLED) {
+            Metrics.READS.increment();
+            Metrics.POINTS_READ.add(function.getPointsCount());
+            Metrics.stop(Metrics.READ_NANOS, start);
+        }
+        return function;
+    }
+
+    private static void recordWrite(long start, long pointsCount) {
+        if (Metrics.ENABLED) {
+            Metrics.WRITES.increment();
+            Metrics.POINTS_WRITTEN.add(pointsCount);
+            Metrics.stop(Metrics.WRITE_NANOS, start);
+        }
+    }
 }
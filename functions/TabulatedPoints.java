@@ -0,0 +1,93 @@
+package functions;
+
+// Общие части реализаций TabulatedFunction: строковый вид, сравнение и хэш по точкам
+// (одинаковые у всех реализаций, чтобы равные по точкам функции были равны) и исключение
+// для функций, доступных только для чтения.
+final class TabulatedPoints {
+    private TabulatedPoints() {} // запрет на создание объектов
+
+    // хэш функции накапливается XOR хэшей точек (как FunctionPoint.hashCode()), начиная с количества точек
+    static int mix(int hash, double x, double y) {
+        long xBits = Double.doubleToLongBits(x);
+        long yBits = Double.doubleToLongBits(y);
+        return hash ^ (int) (xBits ^ (xBits >>> 32)) ^ (int) (yBits ^ (yBits >>> 32));
+    }
+
+    static int hashCode(double[] xs, double[] ys, int count) {
+        int hash = count;
+        for (int i = 0; i < count; i++) {
+            hash = mix(hash, xs[i], ys[i]);
+        }
+        return hash;
+    }
+
+    static int hashCode(TabulatedFunction function) {
+        int count = function.getPointsCount();
+        int hash = count;
+        for (int i = 0; i < count; i++) {
+            hash = mix(hash, function.getPointX(i), function.getPointY(i));
+        }
+        return hash;
+    }
+
+    // точка в том же виде, что FunctionPoint.toString()
+    static StringBuilder appendPoint(StringBuilder sb, double x, double y) {
+        return sb.append('(').append(x).append("; ").append(y).append(')');
+    }
+
+    static String toString(double[] xs, double[] ys, int count) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            appendPoint(sb, xs[i], ys[i]);
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    static String toString(TabulatedFunction function) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < function.getPointsCount(); i++) {
+            if (i > 0) sb.append(", ");
+            appendPoint(sb, function.getPointX(i), function.getPointY(i));
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // точки xs/ys совпадают с точками that (Double.compare, как у FunctionPoint.equals)
+    static boolean equals(double[] xs, double[] ys, int count, TabulatedFunction that) {
+        if (count != that.getPointsCount()) return false;
+        for (int i = 0; i < count; i++) {
+            if (Double.compare(xs[i], that.getPointX(i)) != 0 ||
+                    Double.compare(ys[i], that.getPointY(i)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // equals для function: o - табулированная функция с теми же точками
+    static boolean equals(TabulatedFunction function, Object o) {
+        if (function == o) return true;
+        if (!(o instanceof TabulatedFunction)) return false;
+
+        TabulatedFunction that = (TabulatedFunction) o;
+        int count = function.getPointsCount();
+        if (count != that.getPointsCount()) return false;
+        for (int i = 0; i < count; i++) {
+            if (Double.compare(function.getPointX(i), that.getPointX(i)) != 0 ||
+                    Double.compare(function.getPointY(i), that.getPointY(i)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // исключение для методов изменения; kind - вид функции в сообщении
+    static UnsupportedOperationException readOnly(String kind) {
+        return new UnsupportedOperationException(kind + " доступна только для чтения");
+    }
+}
@@ -0,0 +1,23 @@
+package functions;
+
+import java.io.IOException;
+
+// Приёмник точек потокового табулирования (см. TabulatedFunctions.tabulate с приёмником).
+// Точки приходят кусками в порядке возрастания x: сначала start, затем accept для каждого
+// куска, в конце finish. Если табулирование прервано ошибкой, вместо finish вызывается abort.
+// Массивы куска переиспользуются после возврата из accept, поэтому хранить их нельзя.
+// Все методы вызываются из одного потока, даже если куски вычисляются параллельно.
+// Интерфейс функциональный: простой обработчик кусков можно передать лямбдой.
+public interface TabulationSink {
+    // начало табулирования pointsCount точек на отрезке [leftX, rightX]
+    default void start(double leftX, double rightX, long pointsCount) throws IOException {}
+
+    // очередной кусок: точки (xs[i], ys[i]) для i < count
+    void accept(double[] xs, double[] ys, int count) throws IOException;
+
+    // все точки переданы
+    default void finish() throws IOException {}
+
+    // табулирование прервано; освобождение ресурсов без исключений
+    default void abort() {}
+}
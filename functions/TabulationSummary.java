@@ -0,0 +1,63 @@
+package functions;
+
+// Приёмник потокового табулирования, накапливающий сводку по точкам без их хранения:
+// количество, минимум и максимум Y с их X, интеграл по методу трапеций.
+// Точки со значением NaN учитываются в количестве, но не в минимуме и максимуме.
+public class TabulationSummary implements TabulationSink {
+    private long pointsCount;
+    private double minY = Double.NaN;
+    private double minX = Double.NaN;
+    private double maxY = Double.NaN;
+    private double maxX = Double.NaN;
+    private double integral;
+    private double lastX; // последняя точка предыдущего куска для трапеции на стыке
+    private double lastY;
+
+    @Override
+    public void start(double leftX, double rightX, long pointsCount) {
+        this.pointsCount = 0;
+        minY = minX = maxY = maxX = Double.NaN;
+        integral = 0;
+    }
+
+    @Override
+    public void accept(double[] xs, double[] ys, int count) {
+        if (count == 0) return;
+        double previousX = lastX;
+        double previousY = lastY;
+        int i = 0;
+        if (pointsCount == 0) {
+            previousX = xs[0];
+            previousY = ys[0];
+        }
+        double sum = 0;
+        for (; i < count; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            sum += (y + previousY) * (x - previousX);
+            if (y < minY || minY != minY) { minY = y; minX = x; }
+            if (y > maxY || maxY != maxY) { maxY = y; maxX = x; }
+            previousX = x;
+            previousY = y;
+        }
+        integral += sum / 2;
+        lastX = previousX;
+        lastY = previousY;
+        pointsCount += count;
+    }
+
+    public long getPointsCount() { return pointsCount; }
+    public double getMinY() { return minY; }
+    public double getMinX() { return minX; } // X, в котором достигнут минимум
+    public double getMaxY() { return maxY; }
+    public double getMaxX() { return maxX; } // X, в котором достигнут максимум
+
+    // интеграл по методу трапеций по всем полученным точкам
+    public double getIntegral() { return integral; }
+
+    @Override
+    public String toString() {
+        return "TabulationSummary{points=" + pointsCount + ", min=" + minY + " at " + minX +
+                ", max=" + maxY + " at " + maxX + ", integral=" + integral + "}";
+    }
+}
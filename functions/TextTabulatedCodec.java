@@ -0,0 +1,424 @@
+package functions;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Текстовый формат табулированной функции: первая строка - количество точек,
+// далее по одной точке на строке "x y". Числа разделяются любыми пробельными символами
+// и могут записываться в экспоненциальной форме; допустимы также NaN и Infinity со знаком
+// (как их пишет Double.toString). Шестнадцатеричная запись и суффиксы d/f, которые принимает
+// Double.parseDouble, считаются ошибкой формата.
+//
+// Чтение разбирает числа прямо из буфера символов. Быстрый путь (до 15 значащих цифр и
+// десятичный порядок до 22) точен: мантисса и 10^k представимы в double без округления,
+// поэтому одно умножение или деление даёт правильно округлённый результат. Остальные
+// числа после проверки записи разбираются Double.parseDouble, который также округляет точно.
+// Запись добавляет числа в переиспользуемый буфер без создания строки на каждую точку.
+final class TextTabulatedCodec {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int CHUNK_SIZE = 1 << 23; // байт в одном куске параллельного разбора
+
+    // точные степени десяти, представимые в double
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private TextTabulatedCodec() {} // запрет на создание объектов
+
+    // ЗАПИСЬ
+
+    static void write(TabulatedFunction function, Writer out) throws IOException {
+        int count = function.getPointsCount();
+        StringBuilder line = new StringBuilder(BUFFER_SIZE + 64);
+        char[] chars = new char[BUFFER_SIZE + 64];
+        line.append(count).append('\n');
+        for (int i = 0; i < count; i++) {
+            // append(double) форматирует число прямо в буфер, без промежуточной строки
+            line.append(function.getPointX(i)).append(' ').append(function.getPointY(i)).append('\n');
+            if (line.length() >= BUFFER_SIZE) {
+                chars = flush(line, chars, out);
+            }
+        }
+        flush(line, chars, out);
+        out.flush();
+    }
+
+    private static char[] flush(StringBuilder line, char[] chars, Writer out) throws IOException {
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[length];
+        }
+        line.getChars(0, length, chars, 0);
+        out.write(chars, 0, length);
+        line.setLength(0);
+        return chars;
+    }
+
+    // Приёмник потокового табулирования в текстовом формате; поток out не закрывается
+    static TabulationSink sink(Writer out) {
+        return new TabulationSink() {
+            private final StringBuilder line = new StringBuilder(BUFFER_SIZE + 64);
+            private char[] chars = new char[BUFFER_SIZE + 64];
+
+            @Override
+            public void start(double leftX, double rightX, long pointsCount) {
+                line.setLength(0);
+                line.append(pointsCount).append('\n');
+            }
+
+            @Override
+            public void accept(double[] xs, double[] ys, int count) throws IOException {
+                for (int i = 0; i < count; i++) {
+                    line.append(xs[i]).append(' ').append(ys[i]).append('\n');
+                    if (line.length() >= BUFFER_SIZE) {
+                        chars = flush(line, chars, out);
+                    }
+                }
+            }
+
+            @Override
+            public void finish() throws IOException {
+                chars = flush(line, chars, out);
+                out.flush();
+            }
+        };
+    }
+
+    // ПОТОКОВОЕ ЧТЕНИЕ
+
+    static ArrayTabulatedFunction read(Reader in) throws IOException {
+        Tokenizer tokenizer = new Tokenizer(in);
+        int count = readCount(tokenizer.nextDouble());
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = tokenizer.nextDouble();
+            ys[i] = tokenizer.nextDouble();
+        }
+        return build(xs, ys);
+    }
+
+    // Разбор чисел из Reader через буфер символов
+    private static final class Tokenizer {
+        private final Reader in;
+        private char[] buffer = new char[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        Tokenizer(Reader in) {
+            this.in = in;
+        }
+
+        double nextDouble() throws IOException {
+            // пропуск пробельных символов
+            while (true) {
+                if (position == limit && !fill()) {
+                    throw new IOException("Неожиданный конец данных");
+                }
+                if (!Character.isWhitespace(buffer[position])) break;
+                position++;
+            }
+            int start = position;
+            while (true) {
+                if (position == limit) {
+                    // число продолжается за концом буфера - сдвигаем его в начало и дочитываем
+                    int length = position - start;
+                    if (length == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    } else {
+                        System.arraycopy(buffer, start, buffer, 0, length);
+                    }
+                    position = length;
+                    limit = length;
+                    start = 0;
+                    if (!fill()) break;
+                }
+                if (Character.isWhitespace(buffer[position])) break;
+                position++;
+            }
+            return parseDouble(buffer, start, position);
+        }
+
+        private boolean fill() throws IOException {
+            if (position == limit) {
+                if (limit == buffer.length) {
+                    position = 0;
+                    limit = 0;
+                }
+            }
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read <= 0) return false;
+            limit += read;
+            return true;
+        }
+    }
+
+    // ПАРАЛЛЕЛЬНОЕ ЧТЕНИЕ ФАЙЛА
+
+    // Файл делится на куски по границам строк, куски разбираются в parallelism потоках,
+    // затем результаты копируются в общий массив по порядку кусков.
+    // Требуется, чтобы каждая точка занимала одну строку (так пишет write).
+    static ArrayTabulatedFunction readParallel(Path path, int parallelism) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Число потоков должно быть положительным");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            // первая строка - количество точек
+            ByteBuffer head = ByteBuffer.allocate((int) Math.min(size, 64));
+            channel.read(head, 0);
+            int headerEnd = 0;
+            while (headerEnd < head.position() && head.get(headerEnd) != '\n') headerEnd++;
+            if (headerEnd == head.position()) {
+                throw new IOException("Не найдена строка с количеством точек");
+            }
+            char[] headerChars = new char[headerEnd];
+            for (int i = 0; i < headerEnd; i++) headerChars[i] = (char) (head.get(i) & 0xFF);
+            int count = readCount(parseDouble(headerChars, trimStart(headerChars, 0, headerEnd),
+                    trimEnd(headerChars, 0, headerEnd)));
+
+            // границы кусков сдвигаются к началу следующей строки
+            List<long[]> ranges = new ArrayList<>();
+            long start = headerEnd + 1;
+            long chunk = Math.max(1, Math.min(CHUNK_SIZE, (size - start) / parallelism + 1));
+            while (start < size) {
+                long end = Math.min(size, start + chunk);
+                end = nextLineStart(channel, end, size);
+                ranges.add(new long[]{start, end});
+                start = end;
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+            try {
+                List<Future<double[][]>> parts = new ArrayList<>();
+                for (long[] range : ranges) {
+                    parts.add(executor.submit(chunkParser(channel, range[0], range[1])));
+                }
+                double[] xs = new double[count];
+                double[] ys = new double[count];
+                int offset = 0;
+                for (Future<double[][]> part : parts) {
+                    double[][] points = part.get();
+                    int length = points[0].length;
+                    if (offset + length > count) {
+                        throw new IOException("В файле больше точек, чем указано в заголовке");
+                    }
+                    System.arraycopy(points[0], 0, xs, offset, length);
+                    System.arraycopy(points[1], 0, ys, offset, length);
+                    offset += length;
+                }
+                if (offset != count) {
+                    throw new IOException("В файле меньше точек, чем указано в заголовке");
+                }
+                return build(xs, ys);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Чтение прервано", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) throw (IOException) cause;
+                throw new IOException(cause);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    // Разбор куска [from, to): каждая непустая строка - пара "x y"
+    private static Callable<double[][]> chunkParser(FileChannel channel, long from, long to) {
+        return () -> {
+            int length = (int) (to - from);
+            ByteBuffer bytes = ByteBuffer.allocate(length);
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, from + bytes.position()) < 0) break;
+            }
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) chars[i] = (char) (bytes.get(i) & 0xFF);
+
+            double[] xs = new double[Math.max(16, length / 16)];
+            double[] ys = new double[xs.length];
+            int points = 0;
+            int position = 0;
+            while (true) {
+                position = trimStart(chars, position, length);
+                if (position == length) break;
+                int xEnd = tokenEnd(chars, position, length);
+                int yStart = trimStart(chars, xEnd, length);
+                if (yStart == length) {
+                    throw new IOException("Строка без значения Y");
+                }
+                int yEnd = tokenEnd(chars, yStart, length);
+                if (points == xs.length) {
+                    xs = Arrays.copyOf(xs, points * 2);
+                    ys = Arrays.copyOf(ys, points * 2);
+                }
+                xs[points] = parseDouble(chars, position, xEnd);
+                ys[points] = parseDouble(chars, yStart, yEnd);
+                points++;
+                position = yEnd;
+            }
+            return new double[][]{Arrays.copyOf(xs, points), Arrays.copyOf(ys, points)};
+        };
+    }
+
+    // позиция начала строки, следующей за позицией position (или size)
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) return size;
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') return position + i + 1;
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static int trimStart(char[] chars, int position, int end) {
+        while (position < end && Character.isWhitespace(chars[position])) position++;
+        return position;
+    }
+
+    private static int trimEnd(char[] chars, int start, int end) {
+        while (end > start && Character.isWhitespace(chars[end - 1])) end--;
+        return end;
+    }
+
+    private static int tokenEnd(char[] chars, int position, int end) {
+        while (position < end && !Character.isWhitespace(chars[position])) position++;
+        return position;
+    }
+
+    // РАЗБОР ЧИСЛА
+
+    // Разбор числа из chars[start, end) с точным округлением
+    static double parseDouble(char[] chars, int start, int end) throws IOException {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        int signEnd = i;
+
+        long mantissa = 0;
+        int digits = 0;          // значащих цифр в мантиссе
+        int exponent = 0;        // десятичный порядок мантиссы
+        boolean anyDigit = false;
+        boolean exact = true;    // все значащие цифры поместились в мантиссу
+        for (; i < end && chars[i] >= '0' && chars[i] <= '9'; i++) {
+            anyDigit = true;
+            if (mantissa == 0 && chars[i] == '0') continue; // ведущие нули
+            if (digits < 19) {
+                mantissa = mantissa * 10 + (chars[i] - '0');
+                digits++;
+            } else {
+                exponent++;
+                if (chars[i] != '0') exact = false;
+            }
+        }
+        if (i < end && chars[i] == '.') {
+            for (i++; i < end && chars[i] >= '0' && chars[i] <= '9'; i++) {
+                anyDigit = true;
+                if (mantissa == 0 && chars[i] == '0') {
+                    exponent--;
+                    continue;
+                }
+                if (digits < 19) {
+                    mantissa = mantissa * 10 + (chars[i] - '0');
+                    digits++;
+                    exponent--;
+                } else if (chars[i] != '0') {
+                    exact = false;
+                }
+            }
+        }
+        if (anyDigit && i < end && (chars[i] == 'e' || chars[i] == 'E')) {
+            int j = i + 1;
+            boolean negativeExponent = false;
+            if (j < end && (chars[j] == '-' || chars[j] == '+')) {
+                negativeExponent = chars[j] == '-';
+                j++;
+            }
+            int value = 0;
+            boolean expDigit = false;
+            for (; j < end && chars[j] >= '0' && chars[j] <= '9'; j++) {
+                expDigit = true;
+                if (value < 100_000) value = value * 10 + (chars[j] - '0');
+            }
+            if (expDigit) {
+                exponent += negativeExponent ? -value : value;
+                i = j;
+            }
+        }
+
+        if (!anyDigit || i != end) {
+            if (matches(chars, signEnd, end, "NaN")) return Double.NaN;
+            if (matches(chars, signEnd, end, "Infinity")) {
+                return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            }
+            throw new IOException("Некорректное число: " + new String(chars, start, end - start));
+        }
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        // быстрый путь Клингера
+        if (exact && digits <= 15 && exponent >= -22 && exponent <= 22) {
+            double value = (double) mantissa;
+            value = exponent < 0 ? value / POWERS_OF_TEN[-exponent] : value * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        return slowParse(chars, start, end);
+    }
+
+    // chars[start, end) - в точности слово word
+    private static boolean matches(char[] chars, int start, int end, String word) {
+        if (end - start != word.length()) return false;
+        for (int i = 0; i < word.length(); i++) {
+            if (chars[start + i] != word.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    // запись уже проверена parseDouble; нужно только точное округление
+    private static double slowParse(char[] chars, int start, int end) throws IOException {
+        try {
+            return Double.parseDouble(new String(chars, start, end - start));
+        } catch (NumberFormatException e) {
+            throw new IOException("Некорректное число: " + new String(chars, start, end - start));
+        }
+    }
+
+    private static int readCount(double value) throws IOException {
+        if (value != Math.rint(value) || value < 2 || value > Integer.MAX_VALUE - 8) {
+            throw new IOException("Некорректное количество точек: " + value);
+        }
+        return (int) value;
+    }
+
+    // массивы созданы при чтении - после проверки порядка передаются без копирования
+    private static ArrayTabulatedFunction build(double[] xs, double[] ys) throws IOException {
+        for (int i = 1; i < xs.length; i++) {
+            if (!(xs[i] > xs[i - 1]))
+                throw new IOException("Точки не упорядочены по X");
+        }
+        return ArrayTabulatedFunction.fromSortedArrays(xs, ys);
+    }
+}
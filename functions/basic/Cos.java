@@ -1,9 +1,29 @@
 package functions.basic;
 
+import functions.Function;
+
 public class Cos extends TrigonometricFunction {
 
     @Override
     public double getFunctionValue(double x) {
         return Math.cos(x);
     }
+
+    // Пакетное вычисление косинуса
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        Function.checkBatchBounds(xs.length, values.length, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.cos(xs[i]);
+        }
+    }
+
+    // Пакетное вычисление косинуса на равномерной сетке
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        Function.checkBatchBounds(count, values.length, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.cos(start + i * step);
+        }
+    }
 }
@@ -15,4 +15,22 @@ public class Exp implements Function {
     public double getFunctionValue(double x) {
         return Math.exp(x);
     }
+
+    // Пакетное вычисление экспоненты
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        Function.checkBatchBounds(xs.length, values.length, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.exp(xs[i]);
+        }
+    }
+
+    // Пакетное вычисление экспоненты на равномерной сетке
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        Function.checkBatchBounds(count, values.length, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.exp(start + i * step);
+        }
+    }
 }
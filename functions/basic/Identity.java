@@ -0,0 +1,35 @@
+package functions.basic;
+
+import functions.Function;
+
+// Тождественная функция f(x) = x
+public class Identity implements Function {
+
+    public double getLeftDomainBorder() {
+        return -Double.MAX_VALUE;
+    }
+
+    public double getRightDomainBorder() {
+        return Double.MAX_VALUE;
+    }
+
+    public double getFunctionValue(double x) {
+        return x;
+    }
+
+    // Пакетное вычисление: копирование аргументов
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        Function.checkBatchBounds(xs.length, values.length, count);
+        if (xs != values) {
+            System.arraycopy(xs, 0, values, 0, count);
+        }
+    }
+
+    // Пакетное вычисление на равномерной сетке: сами узлы сетки
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        Function.checkBatchBounds(count, values.length, count);
+        Function.fillGrid(start, step, count, values);
+    }
+}
@@ -4,12 +4,18 @@ import functions.Function;
 
 public class Log implements Function {
     private final double base;
+    private final double logBase; // натуральный логарифм основания (вычисляется один раз)
 
     public Log(double base) {
         if (base <= 0 || base == 1) {
             throw new IllegalArgumentException("Основание логарифма должно быть > 0 и != 1");
         }
         this.base = base;
+        this.logBase = Math.log(base);
+    }
+
+    public double getBase() {
+        return base;
     }
 
     public double getLeftDomainBorder() {
@@ -24,6 +30,32 @@ public class Log implements Function {
         if (x <= 0) {
             throw new IllegalArgumentException("Аргумент логарифма должен быть > 0");
         }
-        return Math.log(x) / Math.log(base);
+        return Math.log(x) / logBase;
+    }
+
+    // Пакетное вычисление логарифма
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        Function.checkBatchBounds(xs.length, values.length, count);
+        for (int i = 0; i < count; i++) {
+            double x = xs[i];
+            if (x <= 0) {
+                throw new IllegalArgumentException("Аргумент логарифма должен быть > 0");
+            }
+            values[i] = Math.log(x) / logBase;
+        }
+    }
+
+    // Пакетное вычисление логарифма на равномерной сетке
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        Function.checkBatchBounds(count, values.length, count);
+        for (int i = 0; i < count; i++) {
+            double x = start + i * step;
+            if (x <= 0) {
+                throw new IllegalArgumentException("Аргумент логарифма должен быть > 0");
+            }
+            values[i] = Math.log(x) / logBase;
+        }
     }
 }
@@ -1,8 +1,28 @@
 package functions.basic;
 
+import functions.Function;
+
 public class Sin extends TrigonometricFunction {
 
     public double getFunctionValue(double x) {
         return Math.sin(x);
     }
+
+    // Пакетное вычисление синуса
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        Function.checkBatchBounds(xs.length, values.length, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.sin(xs[i]);
+        }
+    }
+
+    // Пакетное вычисление синуса на равномерной сетке
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        Function.checkBatchBounds(count, values.length, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.sin(start + i * step);
+        }
+    }
 }
@@ -1,8 +1,28 @@
 package functions.basic;
 
+import functions.Function;
+
 public class Tan extends TrigonometricFunction {
 
     public double getFunctionValue(double x) {
         return Math.tan(x);
     }
+
+    // Пакетное вычисление тангенса
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        Function.checkBatchBounds(xs.length, values.length, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.tan(xs[i]);
+        }
+    }
+
+    // Пакетное вычисление тангенса на равномерной сетке
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        Function.checkBatchBounds(count, values.length, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.tan(start + i * step);
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package functions.meta;
+
+import java.util.Arrays;
+
+// Временные массивы пакетного вычисления Sum и Mult.
+// У каждого потока - стек массивов, по одному на уровень вложенности мета-узлов: вложенная
+// сумма берёт следующий массив и не портит занятый внешним узлом. Массивы растут до нужного
+// размера и переиспользуются; очень большие не кэшируются, чтобы поток не удерживал лишнюю память.
+final class BatchBuffers {
+    private static final int MAX_CACHED_LENGTH = 1 << 16; // больше - временный массив без кэша
+
+    private static final ThreadLocal<BatchBuffers> BUFFERS = ThreadLocal.withInitial(BatchBuffers::new);
+
+    private double[][] stack = new double[4][];
+    private int depth;
+
+    private BatchBuffers() {}
+
+    // массивы текущего потока
+    static BatchBuffers get() {
+        return BUFFERS.get();
+    }
+
+    // массив не короче count; каждый вызов парный с release
+    double[] acquire(int count) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        double[] buffer = stack[depth];
+        if (buffer == null || buffer.length < count) {
+            buffer = new double[count];
+            if (count <= MAX_CACHED_LENGTH) stack[depth] = buffer;
+        }
+        depth++;
+        return buffer;
+    }
+
+    void release() {
+        depth--;
+    }
+}
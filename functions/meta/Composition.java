@@ -5,21 +5,49 @@ import functions.Function;
 public class Composition implements Function {
     private final Function outer;
     private final Function inner;
+    private final Domains.CachedDomain domain; // границы области определения
 
     public Composition(Function outer, Function inner) {
         this.outer = outer;
         this.inner = inner;
+        this.domain = Domains.CachedDomain.of(inner);
+    }
+
+    public Function getOuter() {
+        return outer;
+    }
+
+    public Function getInner() {
+        return inner;
     }
 
     public double getLeftDomainBorder() {
-        return inner.getLeftDomainBorder();
+        return domain.left();
     }
 
     public double getRightDomainBorder() {
-        return inner.getRightDomainBorder();
+        return domain.right();
+    }
+
+    // true, если границы области определения не меняются и вычислены заранее
+    boolean hasFixedDomain() {
+        return domain.isFixed();
     }
 
     public double getFunctionValue(double x) {
         return outer.getFunctionValue(inner.getFunctionValue(x));
     }
+
+    // Пакетное вычисление: сначала внутренняя функция, затем внешняя "на месте"
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        inner.getFunctionValues(xs, values, count);
+        outer.getFunctionValues(values, values, count);
+    }
+
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        inner.getFunctionValues(start, step, count, values);
+        outer.getFunctionValues(values, values, count);
+    }
 }
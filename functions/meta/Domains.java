@@ -0,0 +1,94 @@
+package functions.meta;
+
+import functions.Function;
+import functions.basic.*;
+
+// Определяет, неизменна ли область определения функции.
+// Для таких функций мета-узлы вычисляют свои границы один раз в конструкторе,
+// а не обходят дерево при каждом вызове getLeftDomainBorder/getRightDomainBorder.
+// Табулированные и неизвестные реализации считаются изменяемыми.
+// Используется также FunctionSimplifier: упрощение не должно менять область определения.
+public final class Domains {
+    private Domains() {} // запрет на создание объектов
+
+    public static boolean isFixed(Function f) {
+        Class<?> type = f.getClass();
+        if (type == Exp.class || type == Log.class || type == Sin.class || type == Cos.class
+                || type == Tan.class || type == Identity.class) {
+            return true;
+        }
+        if (type == Sum.class) return ((Sum) f).hasFixedDomain();
+        if (type == Mult.class) return ((Mult) f).hasFixedDomain();
+        if (type == Composition.class) return ((Composition) f).hasFixedDomain();
+        if (type == Power.class) return ((Power) f).hasFixedDomain();
+        if (type == Scale.class) return ((Scale) f).hasFixedDomain();
+        if (type == Shift.class) return ((Shift) f).hasFixedDomain();
+        return false;
+    }
+
+    // Границы области определения мета-узла по его аргументам: вычисляются один раз в конструкторе,
+    // если области аргументов неизменны, иначе - при каждом вызове.
+    // Граница - пересечение областей двух аргументов или (граница аргумента - shift) / scale.
+    static final class CachedDomain {
+        private final Function first;
+        private final Function second;   // второй аргумент пересечения или null
+        private final double shift;
+        private final double scale;
+        private final boolean fixed;
+        private final double left;
+        private final double right;
+
+        private CachedDomain(Function first, Function second, double shift, double scale) {
+            this.first = first;
+            this.second = second;
+            this.shift = shift;
+            this.scale = scale;
+            this.fixed = Domains.isFixed(first) && (second == null || Domains.isFixed(second));
+            this.left = fixed ? computeLeft() : Double.NaN;
+            this.right = fixed ? computeRight() : Double.NaN;
+        }
+
+        // область функции f
+        static CachedDomain of(Function f) {
+            return new CachedDomain(f, null, 0, 1);
+        }
+
+        // пересечение областей f1 и f2
+        static CachedDomain intersection(Function f1, Function f2) {
+            return new CachedDomain(f1, f2, 0, 1);
+        }
+
+        // область f(x + shift)
+        static CachedDomain shifted(Function f, double shift) {
+            return new CachedDomain(f, null, shift, 1);
+        }
+
+        // область f(x * scale)
+        static CachedDomain scaled(Function f, double scale) {
+            return new CachedDomain(f, null, 0, scale);
+        }
+
+        double left() {
+            return fixed ? left : computeLeft();
+        }
+
+        double right() {
+            return fixed ? right : computeRight();
+        }
+
+        // true, если границы не меняются и вычислены заранее
+        boolean isFixed() {
+            return fixed;
+        }
+
+        private double computeLeft() {
+            if (second != null) return Math.max(first.getLeftDomainBorder(), second.getLeftDomainBorder());
+            return (first.getLeftDomainBorder() - shift) / scale;
+        }
+
+        private double computeRight() {
+            if (second != null) return Math.min(first.getRightDomainBorder(), second.getRightDomainBorder());
+            return (first.getRightDomainBorder() - shift) / scale;
+        }
+    }
+}
@@ -5,22 +5,53 @@ import functions.Function;
 public class Power implements Function {
     private final Function base;
     private final double exponent;
-
+    private final Domains.CachedDomain domain; // границы области определения
 
     public Power(Function base, double exponent) {
         this.base = base;
         this.exponent = exponent;
+        this.domain = Domains.CachedDomain.of(base);
+    }
+
+    public Function getBase() {
+        return base;
+    }
+
+    public double getExponent() {
+        return exponent;
     }
 
     public double getLeftDomainBorder() {
-        return base.getLeftDomainBorder();
+        return domain.left();
     }
 
     public double getRightDomainBorder() {
-        return base.getRightDomainBorder();
+        return domain.right();
+    }
+
+    // true, если границы области определения не меняются и вычислены заранее
+    boolean hasFixedDomain() {
+        return domain.isFixed();
     }
 
     public double getFunctionValue(double x) {
         return Math.pow(base.getFunctionValue(x), exponent);
     }
+
+    // Пакетное вычисление степени
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        base.getFunctionValues(xs, values, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.pow(values[i], exponent);
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        base.getFunctionValues(start, step, count, values);
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.pow(values[i], exponent);
+        }
+    }
 }
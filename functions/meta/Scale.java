@@ -6,23 +6,66 @@ public class Scale implements Function {
     private final Function base;
     private final double scaleX;
     private final double scaleY;
+    private final Domains.CachedDomain domain; // границы области определения
 
     public Scale(Function base, double scaleX, double scaleY) {
         this.base = base;
         this.scaleX = scaleX;
         this.scaleY = scaleY;
+        this.domain = Domains.CachedDomain.scaled(base, scaleX);
+    }
+
+    public Function getBase() {
+        return base;
+    }
+
+    public double getScaleX() {
+        return scaleX;
+    }
+
+    public double getScaleY() {
+        return scaleY;
     }
 
     public double getLeftDomainBorder() {
-        return base.getLeftDomainBorder() / scaleX;
+        return domain.left();
     }
 
     public double getRightDomainBorder() {
-        return base.getRightDomainBorder() / scaleX;
+        return domain.right();
+    }
+
+    // true, если границы области определения не меняются и вычислены заранее
+    boolean hasFixedDomain() {
+        return domain.isFixed();
     }
 
     public double getFunctionValue(double x) {
         return base.getFunctionValue(x * scaleX) * scaleY;
     }
 
+    // Пакетное вычисление: аргументы масштабируются в values, затем базовая функция "на месте"
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        Function.checkBatchBounds(xs.length, values.length, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = xs[i] * scaleX;
+        }
+        base.getFunctionValues(values, values, count);
+        for (int i = 0; i < count; i++) {
+            values[i] *= scaleY;
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        Function.checkBatchBounds(count, values.length, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = (start + i * step) * scaleX;
+        }
+        base.getFunctionValues(values, values, count);
+        for (int i = 0; i < count; i++) {
+            values[i] *= scaleY;
+        }
+    }
 }
@@ -6,22 +6,65 @@ public class Shift implements Function {
     private final Function base;
     private final double shiftX;
     private final double shiftY;
+    private final Domains.CachedDomain domain; // границы области определения
 
     public Shift(Function base, double shiftX, double shiftY) {
         this.base = base;
         this.shiftX = shiftX;
         this.shiftY = shiftY;
+        this.domain = Domains.CachedDomain.shifted(base, shiftX);
+    }
+
+    public Function getBase() {
+        return base;
+    }
+
+    public double getShiftX() {
+        return shiftX;
+    }
+
+    public double getShiftY() {
+        return shiftY;
     }
 
     public double getLeftDomainBorder() {
-        return base.getLeftDomainBorder() - shiftX;
+        return domain.left();
     }
 
     public double getRightDomainBorder() {
-        return base.getRightDomainBorder() - shiftX;
+        return domain.right();
+    }
+
+    // true, если границы области определения не меняются и вычислены заранее
+    boolean hasFixedDomain() {
+        return domain.isFixed();
     }
 
     public double getFunctionValue(double x) {
         return base.getFunctionValue(x + shiftX) + shiftY;}
 
+    // Пакетное вычисление: аргументы сдвигаются в values, затем базовая функция "на месте"
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        Function.checkBatchBounds(xs.length, values.length, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = xs[i] + shiftX;
+        }
+        base.getFunctionValues(values, values, count);
+        for (int i = 0; i < count; i++) {
+            values[i] += shiftY;
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        Function.checkBatchBounds(count, values.length, count);
+        for (int i = 0; i < count; i++) {
+            values[i] = (start + i * step) + shiftX;
+        }
+        base.getFunctionValues(values, values, count);
+        for (int i = 0; i < count; i++) {
+            values[i] += shiftY;
+        }
+    }
 }
@@ -5,20 +5,68 @@ import functions.Function;
 public class Sum implements Function {
     private final Function f1;
     private final Function f2;
+    private final Domains.CachedDomain domain; // границы области определения
     public Sum(Function f1, Function f2) {
         this.f1 = f1;
         this.f2 = f2;
+        this.domain = Domains.CachedDomain.intersection(f1, f2);
+    }
+
+    public Function getF1() {
+        return f1;
+    }
+
+    public Function getF2() {
+        return f2;
     }
 
     public double getLeftDomainBorder() {
-        return Math.max(f1.getLeftDomainBorder(), f2.getLeftDomainBorder());
+        return domain.left();
     }
 
     public double getRightDomainBorder() {
-        return Math.min(f1.getRightDomainBorder(), f2.getRightDomainBorder());
+        return domain.right();
+    }
+
+    // true, если границы области определения не меняются и вычислены заранее
+    boolean hasFixedDomain() {
+        return domain.isFixed();
     }
 
     public double getFunctionValue(double x) {
         return f1.getFunctionValue(x) + f2.getFunctionValue(x);
     }
-}
\ No newline at end of file
+
+    // Пакетное вычисление суммы: значения f2 считаются во временный массив потока (BatchBuffers)
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        Function.checkBatchBounds(xs.length, values.length, count);
+        BatchBuffers buffers = BatchBuffers.get();
+        double[] second = buffers.acquire(count);
+        try {
+            f2.getFunctionValues(xs, second, count); // xs читается до перезаписи values
+            f1.getFunctionValues(xs, values, count);
+            for (int i = 0; i < count; i++) {
+                values[i] += second[i];
+            }
+        } finally {
+            buffers.release();
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        Function.checkBatchBounds(count, values.length, count);
+        BatchBuffers buffers = BatchBuffers.get();
+        double[] second = buffers.acquire(count);
+        try {
+            f1.getFunctionValues(start, step, count, values);
+            f2.getFunctionValues(start, step, count, second);
+            for (int i = 0; i < count; i++) {
+                values[i] += second[i];
+            }
+        } finally {
+            buffers.release();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package functions.metrics;
+
+// Снимок гистограммы для JMX: количество и перцентили времени в микросекундах
+public class HistogramSnapshot {
+    private final long count;
+    private final double mean;
+    private final double p50;
+    private final double p99;
+    private final double p999;
+    private final double max;
+
+    HistogramSnapshot(LatencyHistogram histogram) {
+        this.count = histogram.getCount();
+        this.mean = count == 0 ? 0 : histogram.getMean() / 1e3;
+        this.p50 = histogram.getValueAtPercentile(50) / 1e3;
+        this.p99 = histogram.getValueAtPercentile(99) / 1e3;
+        this.p999 = histogram.getValueAtPercentile(99.9) / 1e3;
+        this.max = histogram.getMax() / 1e3;
+    }
+
+    public long getCount() { return count; }
+    public double getMean() { return mean; }
+    public double getP50() { return p50; }
+    public double getP99() { return p99; }
+    public double getP999() { return p999; }
+    public double getMax() { return max; }
+}
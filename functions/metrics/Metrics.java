@@ -0,0 +1,130 @@
+package functions.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// Счётчики и гистограммы времени работы интегрирования, табулирования, ввода-вывода и потоков.
+//
+// Сбор включается свойством JVM -Dfunctions.metrics=true. Флаг ENABLED - константа,
+// поэтому при выключенном сборе JIT удаляет проверки "if (Metrics.ENABLED)" вместе с их телом
+// и инструментирование ничего не стоит. При включённом сборе значения доступны
+// через JMX (functions:type=Metrics) и методом report.
+//
+// Гистограммы хранят время в наносекундах. Гауджи (глубина очереди) не сбрасываются reset.
+public final class Metrics {
+    public static final boolean ENABLED = Boolean.getBoolean("functions.metrics");
+
+    private static final Map<String, LongAdder> COUNTERS = new LinkedHashMap<>();
+    private static final Map<String, LongAdder> GAUGES = new LinkedHashMap<>();
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new LinkedHashMap<>();
+
+    // интегрирование
+    public static final LongAdder INTEGRATIONS = counter("integrations");
+    public static final LongAdder INTEGRATION_EVALUATIONS = counter("integrationEvaluations");
+    public static final LatencyHistogram INTEGRATION_NANOS = histogram("integration");
+
+    // табулирование
+    public static final LongAdder TABULATIONS = counter("tabulations");
+    public static final LongAdder TABULATED_POINTS = counter("tabulatedPoints");
+    public static final LatencyHistogram TABULATION_NANOS = histogram("tabulation");
+
+    // чтение и запись табулированных функций (потоки, текст, двоичные файлы)
+    public static final LongAdder READS = counter("reads");
+    public static final LongAdder POINTS_READ = counter("pointsRead");
+    public static final LatencyHistogram READ_NANOS = histogram("read");
+    public static final LongAdder WRITES = counter("writes");
+    public static final LongAdder POINTS_WRITTEN = counter("pointsWritten");
+    public static final LatencyHistogram WRITE_NANOS = histogram("write");
+
+    // потоки: Generator -> Integrator и IntegrationService
+    public static final LongAdder TASKS_GENERATED = counter("tasksGenerated");
+    public static final LongAdder TASKS_INTEGRATED = counter("tasksIntegrated");
+    public static final LongAdder TASKS_SKIPPED = counter("tasksSkipped");   // интегратор получил уже обработанные данные
+    public static final LongAdder TASKS_DROPPED = counter("tasksDropped");   // генератор перезаписал необработанное задание
+    public static final LatencyHistogram HANDOFF_NANOS = histogram("handoff");       // от генерации до начала интегрирования
+    public static final LatencyHistogram SUBMIT_WAIT_NANOS = histogram("submitWait"); // ожидание места в очереди
+    public static final LatencyHistogram TASK_NANOS = histogram("task");              // интегрирование задания в сервисе
+    public static final LongAdder QUEUE_DEPTH = gauge("queueDepth");                 // заданий в очередях сервисов
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsBean(),
+                        new ObjectName("functions:type=Metrics"));
+            } catch (JMException e) {
+                System.err.println("Не удалось зарегистрировать MBean метрик: " + e.getMessage());
+            }
+        }
+    }
+
+    private Metrics() {} // запрет на создание объектов
+
+    private static LongAdder counter(String name) {
+        LongAdder counter = new LongAdder();
+        COUNTERS.put(name, counter);
+        return counter;
+    }
+
+    private static LongAdder gauge(String name) {
+        LongAdder gauge = new LongAdder();
+        GAUGES.put(name, gauge);
+        return gauge;
+    }
+
+    private static LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        HISTOGRAMS.put(name, histogram);
+        return histogram;
+    }
+
+    // Начало измерения: текущее время или 0, если сбор выключен
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    // Запись времени, прошедшего с start
+    public static void stop(LatencyHistogram histogram, long start) {
+        if (ENABLED) {
+            histogram.record(Math.max(0, System.nanoTime() - start));
+        }
+    }
+
+    // Текущие значения счётчиков и гауджей по именам
+    public static Map<String, Long> counters() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        COUNTERS.forEach((name, counter) -> values.put(name, counter.sum()));
+        GAUGES.forEach((name, gauge) -> values.put(name, gauge.sum()));
+        return values;
+    }
+
+    static Map<String, LatencyHistogram> histograms() {
+        return Collections.unmodifiableMap(HISTOGRAMS);
+    }
+
+    // Сброс счётчиков и гистограмм
+    public static void reset() {
+        COUNTERS.values().forEach(LongAdder::reset);
+        HISTOGRAMS.values().forEach(LatencyHistogram::reset);
+    }
+
+    // Текстовый отчёт: счётчики и перцентили времени в микросекундах
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(ENABLED ? "Metrics:\n" : "Metrics are disabled (-Dfunctions.metrics=true)\n");
+        counters().forEach((name, value) -> sb.append("  ").append(name).append(" = ").append(value).append('\n'));
+        HISTOGRAMS.forEach((name, histogram) -> {
+            if (histogram.getCount() > 0) {
+                sb.append(String.format("  %s: count=%d p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus%n", name,
+                        histogram.getCount(), histogram.getValueAtPercentile(50) / 1e3,
+                        histogram.getValueAtPercentile(99) / 1e3, histogram.getValueAtPercentile(99.9) / 1e3,
+                        histogram.getMax() / 1e3));
+            }
+        });
+        return sb.toString();
+    }
+}
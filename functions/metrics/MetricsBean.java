@@ -0,0 +1,25 @@
+package functions.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Реализация MetricsMXBean поверх статических метрик Metrics
+class MetricsBean implements MetricsMXBean {
+    public boolean isEnabled() {
+        return Metrics.ENABLED;
+    }
+
+    public Map<String, Long> getCounters() {
+        return Metrics.counters();
+    }
+
+    public Map<String, HistogramSnapshot> getHistograms() {
+        Map<String, HistogramSnapshot> snapshots = new LinkedHashMap<>();
+        Metrics.histograms().forEach((name, histogram) -> snapshots.put(name, new HistogramSnapshot(histogram)));
+        return snapshots;
+    }
+
+    public void reset() {
+        Metrics.reset();
+    }
+}
@@ -0,0 +1,14 @@
+package functions.metrics;
+
+import java.util.Map;
+
+// JMX-интерфейс метрик (объект functions:type=Metrics)
+public interface MetricsMXBean {
+    boolean isEnabled();
+
+    Map<String, Long> getCounters();
+
+    Map<String, HistogramSnapshot> getHistograms();
+
+    void reset();
+}
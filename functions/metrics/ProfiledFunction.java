@@ -0,0 +1,280 @@
+package functions.metrics;
+
+import functions.Function;
+import functions.basic.Log;
+import functions.meta.*;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Профилировщик дерева функций: каждый узел дерева из functions.meta оборачивается декоратором,
+// который считает вызовы и выборочно измеряет их время.
+//
+//   ProfiledFunction profiled = ProfiledFunction.profile(f, 64);
+//   Functions.Integrate(profiled, 0, 10, 1e-4);   // или TabulatedFunctions.tabulate(profiled, ...)
+//   System.out.print(profiled.report());
+//
+// Время измеряется у одного из samplingPeriod вызовов getFunctionValue корня (случайно, чтобы
+// не совпадать с периодичностью сетки) и у всех вызовов узлов внутри такого вызова: выборка
+// согласована по дереву, поэтому время аргументов измерено на тех же вызовах, что и время узла.
+// Пакетные вызовы измеряются всегда - это один замер на весь пакет.
+// Полное время узла оценивается как среднее измеренное время вызова, умноженное на число вызовов;
+// собственное время - полное без полного времени аргументов.
+// Замер включает стоимость самого System.nanoTime (десятки наносекунд), поэтому для дешёвых листьев
+// (Sin, Exp) оценки завышены; сравнивать имеет смысл доли, а не абсолютные значения.
+//
+// Одинаковые поддеревья в разных местах дерева оборачиваются отдельно: отчёт показывает стоимость
+// каждого пути от корня, как flame graph. Табулированные и неизвестные функции - листья.
+public final class ProfiledFunction implements Function {
+    private final Function function;          // узел, аргументы которого уже обёрнуты
+    private final String name;
+    private final ProfiledFunction[] children;
+    private final int samplingPeriod;
+    private final boolean root;                // только корень выбирает измеряемые вызовы
+    private final ThreadLocal<boolean[]> sampling; // общий для дерева: идёт измеряемый вызов
+    private final LongAdder calls = new LongAdder();          // вычисленных значений
+    private final LongAdder sampledCalls = new LongAdder();   // из них с измеренным временем
+    private final LongAdder sampledNanos = new LongAdder();
+
+    private ProfiledFunction(Function function, String name, Profile profile, ProfiledFunction... children) {
+        this.function = function;
+        this.name = name;
+        this.children = children;
+        this.samplingPeriod = profile.samplingPeriod;
+        this.root = false;
+        this.sampling = profile.sampling;
+    }
+
+    // корень: тот же узел, но выбирающий измеряемые вызовы
+    private ProfiledFunction(ProfiledFunction node, Profile profile) {
+        this.function = node.function;
+        this.name = node.name;
+        this.children = node.children;
+        this.samplingPeriod = profile.samplingPeriod;
+        this.root = true;
+        this.sampling = profile.sampling;
+    }
+
+    // Обёртка всех узлов дерева; samplingPeriod = 1 - измерять каждый вызов
+    public static ProfiledFunction profile(Function function, int samplingPeriod) {
+        if (samplingPeriod < 1) {
+            throw new IllegalArgumentException("Период выборки должен быть положительным");
+        }
+        Profile profile = new Profile(samplingPeriod);
+        return new ProfiledFunction(wrap(function, profile), profile);
+    }
+
+    // общие параметры узлов одного дерева
+    private static final class Profile {
+        final int samplingPeriod;
+        final ThreadLocal<boolean[]> sampling = ThreadLocal.withInitial(() -> new boolean[1]);
+
+        Profile(int samplingPeriod) {
+            this.samplingPeriod = samplingPeriod;
+        }
+    }
+
+    private static ProfiledFunction wrap(Function f, Profile profile) {
+        Class<?> type = f.getClass();
+        if (type == Sum.class) {
+            Sum sum = (Sum) f;
+            ProfiledFunction a = wrap(sum.getF1(), profile);
+            ProfiledFunction b = wrap(sum.getF2(), profile);
+            return new ProfiledFunction(new Sum(a, b), "Sum", profile, a, b);
+        }
+        if (type == Mult.class) {
+            Mult mult = (Mult) f;
+            ProfiledFunction a = wrap(mult.getF1(), profile);
+            ProfiledFunction b = wrap(mult.getF2(), profile);
+            return new ProfiledFunction(new Mult(a, b), "Mult", profile, a, b);
+        }
+        if (type == Composition.class) {
+            Composition composition = (Composition) f;
+            ProfiledFunction outer = wrap(composition.getOuter(), profile);
+            ProfiledFunction inner = wrap(composition.getInner(), profile);
+            return new ProfiledFunction(new Composition(outer, inner), "Composition", profile, outer, inner);
+        }
+        if (type == Power.class) {
+            Power power = (Power) f;
+            ProfiledFunction base = wrap(power.getBase(), profile);
+            return new ProfiledFunction(new Power(base, power.getExponent()),
+                    "Power ^" + format(power.getExponent()), profile, base);
+        }
+        if (type == Scale.class) {
+            Scale scale = (Scale) f;
+            ProfiledFunction base = wrap(scale.getBase(), profile);
+            return new ProfiledFunction(new Scale(base, scale.getScaleX(), scale.getScaleY()),
+                    "Scale " + format(scale.getScaleX()) + " " + format(scale.getScaleY()), profile, base);
+        }
+        if (type == Shift.class) {
+            Shift shift = (Shift) f;
+            ProfiledFunction base = wrap(shift.getBase(), profile);
+            return new ProfiledFunction(new Shift(base, shift.getShiftX(), shift.getShiftY()),
+                    "Shift " + format(shift.getShiftX()) + " " + format(shift.getShiftY()), profile, base);
+        }
+        if (type == Log.class) {
+            return new ProfiledFunction(f, "Log " + format(((Log) f).getBase()), profile);
+        }
+        return new ProfiledFunction(f, type.getSimpleName(), profile);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.4g", value);
+    }
+
+    public double getLeftDomainBorder() {
+        return function.getLeftDomainBorder();
+    }
+
+    public double getRightDomainBorder() {
+        return function.getRightDomainBorder();
+    }
+
+    public double getFunctionValue(double x) {
+        calls.increment();
+        boolean[] active = sampling.get();
+        if (active[0]) {
+            // внутри измеряемого вызова корня
+            long start = System.nanoTime();
+            double value = function.getFunctionValue(x);
+            record(start, 1);
+            return value;
+        }
+        if (!root || (samplingPeriod > 1 && ThreadLocalRandom.current().nextInt(samplingPeriod) != 0)) {
+            return function.getFunctionValue(x);
+        }
+        active[0] = true;
+        try {
+            long start = System.nanoTime();
+            double value = function.getFunctionValue(x);
+            record(start, 1);
+            return value;
+        } finally {
+            active[0] = false;
+        }
+    }
+
+    // Пакетные вызовы измеряются целиком вместе со всеми вызовами внутри них
+    @Override
+    public void getFunctionValues(double[] xs, double[] values, int count) {
+        calls.add(count);
+        boolean[] active = sampling.get();
+        boolean outer = !active[0];
+        active[0] = true;
+        try {
+            long start = System.nanoTime();
+            function.getFunctionValues(xs, values, count);
+            record(start, count);
+        } finally {
+            if (outer) active[0] = false;
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double start, double step, int count, double[] values) {
+        calls.add(count);
+        boolean[] active = sampling.get();
+        boolean outer = !active[0];
+        active[0] = true;
+        try {
+            long begin = System.nanoTime();
+            function.getFunctionValues(start, step, count, values);
+            record(begin, count);
+        } finally {
+            if (outer) active[0] = false;
+        }
+    }
+
+    private void record(long start, int count) {
+        sampledNanos.add(System.nanoTime() - start);
+        sampledCalls.add(count);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // обёрнутые аргументы узла
+    public ProfiledFunction[] getChildren() {
+        return children.clone();
+    }
+
+    public long getCallsCount() {
+        return calls.sum();
+    }
+
+    public long getSampledCallsCount() {
+        return sampledCalls.sum();
+    }
+
+    // оценка полного времени узла вместе с аргументами, нс
+    public double getTotalNanos() {
+        long sampled = sampledCalls.sum();
+        return sampled == 0 ? 0 : (double) sampledNanos.sum() / sampled * calls.sum();
+    }
+
+    // оценка времени самого узла без аргументов, нс
+    public double getSelfNanos() {
+        double self = getTotalNanos();
+        for (ProfiledFunction child : children) {
+            self -= child.getTotalNanos();
+        }
+        return Math.max(0, self);
+    }
+
+    // Сброс счётчиков во всём дереве
+    public void reset() {
+        calls.reset();
+        sampledCalls.reset();
+        sampledNanos.reset();
+        for (ProfiledFunction child : children) {
+            child.reset();
+        }
+    }
+
+    // Дерево узлов с долями полного и собственного времени от времени корня
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%7s %7s %12s %10s  %s%n", "total", "self", "calls", "ns/call", "node"));
+        appendReport(sb, 0, Math.max(getTotalNanos(), 1));
+        return sb.toString();
+    }
+
+    private void appendReport(StringBuilder sb, int depth, double rootNanos) {
+        long count = calls.sum();
+        double total = getTotalNanos();
+        sb.append(String.format(Locale.ROOT, "%6.1f%% %6.1f%% %12d %10.1f  ", 100 * total / rootNanos,
+                100 * getSelfNanos() / rootNanos, count, count == 0 ? 0.0 : total / count));
+        for (int i = 0; i < depth; i++) {
+            sb.append("  ");
+        }
+        sb.append(name).append('\n');
+        for (ProfiledFunction child : children) {
+            child.appendReport(sb, depth + 1, rootNanos);
+        }
+    }
+
+    // Свёрнутые стеки для flamegraph.pl и совместимых программ:
+    // строка "Корень;Узел;...;Лист собственное_время_нс" на каждый узел
+    public String collapsedStacks() {
+        StringBuilder sb = new StringBuilder();
+        appendStacks(sb, new StringBuilder());
+        return sb.toString();
+    }
+
+    private void appendStacks(StringBuilder sb, StringBuilder path) {
+        int length = path.length();
+        if (length > 0) {
+            path.append(';');
+        }
+        path.append(name.replace(';', ','));
+        long self = Math.round(getSelfNanos());
+        if (self > 0) {
+            sb.append(path).append(' ').append(self).append('\n');
+        }
+        for (ProfiledFunction child : children) {
+            child.appendStacks(sb, path);
+        }
+        path.setLength(length);
+    }
+}
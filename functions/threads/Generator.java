@@ -2,22 +2,33 @@ package functions.threads;
 
 import functions.Function;
 import functions.basic.Log;
+import functions.metrics.Metrics;
 import java.util.concurrent.Semaphore;
 
 public class Generator extends Thread {
     private final Task task;
     private final Semaphore semaphore;
+    private final double tolerance; // погрешность адаптивного интегрирования заданий; 0 - фиксированный шаг
 
     public Generator(Task task, Semaphore semaphore) {
+        this(task, semaphore, 0);
+    }
+
+    // задания интегрируются адаптивно с погрешностью tolerance (Task.isAdaptive)
+    public Generator(Task task, Semaphore semaphore, double tolerance) {
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("Погрешность не может быть отрицательной");
+        }
         this.task = task;
         this.semaphore = semaphore;
+        this.tolerance = tolerance;
     }
 
     @Override
     public void run() {
         try {
             for (int i = 0; i < task.getTasksCount(); i++) {
-                if (isInterrupted()) {
+                if (Thread.currentThread().isInterrupted()) {
                     System.out.println("Generator was interrupted");
                     return;
                 }
@@ -25,14 +36,17 @@ public class Generator extends Thread {
                 // Ждем, пока предыдущие данные не будут обработаны
                 synchronized (task) {
                     long waitStart = System.currentTimeMillis();
-                    while (!task.isDataProcessed() && !isInterrupted()) {
+                    while (!task.isDataProcessed() && !Thread.currentThread().isInterrupted()) {
                         long elapsed = System.currentTimeMillis() - waitStart;
                         if (elapsed > 100) { // Максимум 100ms ждем
+                            if (Metrics.ENABLED) {
+                                Metrics.TASKS_DROPPED.increment(); // задание будет перезаписано необработанным
+                            }
                             break; // Выходим из ожидания
                         }
                         task.wait(10);
                     }
-                    if (isInterrupted()) return;
+                    if (Thread.currentThread().isInterrupted()) return;
                 }
 
                 // Генерируем случайные параметры
@@ -54,6 +68,8 @@ public class Generator extends Thread {
                     task.setLeftBorder(leftBorder);
                     task.setRightBorder(rightBorder);
                     task.setDiscretizationStep(step);
+                    task.setTolerance(tolerance);
+                    task.setGeneratedNanos(Metrics.start());
                     task.setDataProcessed(false); // Помечаем как необработанные
 
                     // Выводим сообщение
@@ -61,6 +77,9 @@ public class Generator extends Thread {
                 } finally {
                     semaphore.release();
                 }
+                if (Metrics.ENABLED) {
+                    Metrics.TASKS_GENERATED.increment();
+                }
                 //после semaphore.release():
                 synchronized (task) {
                     task.setDataProcessed(false);
@@ -0,0 +1,197 @@
+package functions.threads;
+
+import functions.Functions;
+import functions.metrics.Metrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Сервис интегрирования: несколько потоков-интеграторов берут задания из общей ограниченной очереди.
+//
+// - submit блокируется, пока в очереди нет места (обратное давление на генератор);
+// - каждый результат передаётся обработчику resultHandler в потоке интегратора;
+// - shutdown перестаёт принимать задания, а интеграторы выполняют всё, что уже в очереди,
+//   и завершаются; awaitTermination ждёт их завершения.
+// Принятое задание никогда не теряется: submit либо ставит его в очередь, либо выбрасывает исключение.
+// Потоки интеграторов не фоновые, поэтому после работы сервис нужно остановить вызовом shutdown.
+public class IntegrationService {
+    // признак остановки для интегратора; кладётся в очередь после всех заданий
+    private static final IntegrationTask STOP = new IntegrationTask(-1, null, 0, 0, 0);
+
+    private final ArrayBlockingQueue<IntegrationTask> queue;
+    private final Semaphore freeSlots;  // свободные места для заданий (остальные места очереди - под STOP)
+    private final Consumer<TaskResult> resultHandler;
+    private final Thread[] workers;
+    private final Object submitLock = new Object();
+    private volatile boolean shutdown;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    // Сервис с числом интеграторов по числу процессоров
+    public IntegrationService(int queueCapacity, Consumer<TaskResult> resultHandler) {
+        this(Runtime.getRuntime().availableProcessors(), queueCapacity, resultHandler);
+    }
+
+    public IntegrationService(int workersCount, int queueCapacity, Consumer<TaskResult> resultHandler) {
+        if (workersCount < 1) {
+            throw new IllegalArgumentException("Число интеграторов должно быть положительным");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Ёмкость очереди должна быть положительной");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity + workersCount);
+        this.freeSlots = new Semaphore(queueCapacity);
+        this.resultHandler = resultHandler;
+        this.workers = new Thread[workersCount];
+        for (int i = 0; i < workersCount; i++) {
+            workers[i] = new Thread(this::work, "integrator-" + (i + 1));
+            workers[i].start();
+        }
+    }
+
+    // Постановка задания в очередь; ждёт, пока освободится место
+    public void submit(IntegrationTask task) throws InterruptedException {
+        long start = Metrics.start();
+        freeSlots.acquire();
+        Metrics.stop(Metrics.SUBMIT_WAIT_NANOS, start);
+        enqueue(task);
+    }
+
+    // То же с ограничением ожидания; false, если место не освободилось за timeout
+    public boolean submit(IntegrationTask task, long timeout, TimeUnit unit) throws InterruptedException {
+        long start = Metrics.start();
+        if (!freeSlots.tryAcquire(timeout, unit)) {
+            return false;
+        }
+        Metrics.stop(Metrics.SUBMIT_WAIT_NANOS, start);
+        enqueue(task);
+        return true;
+    }
+
+    private void enqueue(IntegrationTask task) {
+        synchronized (submitLock) {
+            if (shutdown) {
+                freeSlots.release();
+                throw new IllegalStateException("Сервис интегрирования остановлен");
+            }
+            queue.add(task); // место гарантировано семафором
+            submitted.incrementAndGet();
+            if (Metrics.ENABLED) {
+                Metrics.TASKS_GENERATED.increment(); // принятое задание - пара к TASKS_INTEGRATED в work
+                Metrics.QUEUE_DEPTH.increment();
+            }
+        }
+    }
+
+    // Прекращение приёма заданий; уже принятые задания будут выполнены
+    public void shutdown() {
+        synchronized (submitLock) {
+            if (shutdown) return;
+            shutdown = true;
+            // STOP встаёт после всех принятых заданий, по одному на интегратор
+            for (int i = 0; i < workers.length; i++) {
+                queue.add(STOP);
+            }
+        }
+    }
+
+    // Ожидание завершения интеграторов после shutdown; false, если не успели за timeout
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread worker : workers) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 && worker.isAlive()) return false;
+            TimeUnit.NANOSECONDS.timedJoin(worker, Math.max(remaining, 1));
+            if (worker.isAlive()) return false;
+        }
+        return true;
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public boolean isTerminated() {
+        for (Thread worker : workers) {
+            if (worker.isAlive()) return false;
+        }
+        return shutdown;
+    }
+
+    public int getWorkersCount() {
+        return workers.length;
+    }
+
+    // заданий в очереди, ещё не взятых интеграторами
+    public int getQueuedCount() {
+        int size = queue.size();
+        return shutdown ? Math.max(0, size - workers.length) : size; // без признаков STOP
+    }
+
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    // выполнено заданий (включая завершившиеся ошибкой)
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    // Цикл интегратора: выполняет задания до признака STOP
+    private void work() {
+        while (true) {
+            IntegrationTask task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                // прерывание не останавливает интегратор: задания в очереди должны быть выполнены
+                continue;
+            }
+            if (task == STOP) {
+                return;
+            }
+            freeSlots.release();
+            if (Metrics.ENABLED) {
+                Metrics.QUEUE_DEPTH.decrement();
+            }
+
+            TaskResult result = execute(task);
+            completed.incrementAndGet();
+            if (Metrics.ENABLED) {
+                Metrics.TASKS_INTEGRATED.increment();
+                Metrics.TASK_NANOS.record(result.getElapsedNanos());
+            }
+            if (!result.isSuccessful()) {
+                failed.incrementAndGet();
+            }
+            try {
+                resultHandler.accept(result);
+            } catch (RuntimeException e) {
+                System.err.println("Ошибка обработчика результата " + task + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Вычисление интеграла задания: адаптивно с погрешностью или с фиксированным шагом
+    static TaskResult execute(IntegrationTask task) {
+        long start = System.nanoTime();
+        try {
+            double value = task.isAdaptive()
+                    ? Functions.integrateAdaptive(task.getFunction(), task.getLeftBorder(),
+                            task.getRightBorder(), task.getTolerance()).getValue()
+                    : Functions.Integrate(task.getFunction(), task.getLeftBorder(),
+                            task.getRightBorder(), task.getDiscretizationStep());
+            return new TaskResult(task, value, null, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            return new TaskResult(task, Double.NaN, e, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package functions.threads;
+
+import functions.Function;
+
+// Неизменяемое задание на интегрирование для IntegrationService.
+// В отличие от Task, объект не переиспользуется, поэтому его можно без синхронизации
+// передавать между потоками и хранить в очереди.
+public final class IntegrationTask {
+    private final long id;
+    private final Function function;
+    private final double leftBorder;
+    private final double rightBorder;
+    private final double discretizationStep;
+    private final double tolerance; // погрешность адаптивного интегрирования; 0 - интегрировать с шагом
+
+    public IntegrationTask(long id, Function function, double leftBorder, double rightBorder,
+                           double discretizationStep, double tolerance) {
+        this.id = id;
+        this.function = function;
+        this.leftBorder = leftBorder;
+        this.rightBorder = rightBorder;
+        this.discretizationStep = discretizationStep;
+        this.tolerance = tolerance;
+    }
+
+    public IntegrationTask(long id, Function function, double leftBorder, double rightBorder, double discretizationStep) {
+        this(id, function, leftBorder, rightBorder, discretizationStep, 0);
+    }
+
+    // Снимок текущих параметров изменяемого задания Task
+    public static IntegrationTask from(long id, Task task) {
+        synchronized (task) {
+            return new IntegrationTask(id, task.getFunction(), task.getLeftBorder(), task.getRightBorder(),
+                    task.getDiscretizationStep(), task.getTolerance());
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Function getFunction() {
+        return function;
+    }
+
+    public double getLeftBorder() {
+        return leftBorder;
+    }
+
+    public double getRightBorder() {
+        return rightBorder;
+    }
+
+    public double getDiscretizationStep() {
+        return discretizationStep;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    // true, если задание интегрируется адаптивно с заданной погрешностью, а не с фиксированным шагом
+    public boolean isAdaptive() {
+        return tolerance > 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Task #%d [%.6f, %.6f] step %.6f", id, leftBorder, rightBorder, discretizationStep);
+    }
+}
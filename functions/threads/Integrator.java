@@ -2,6 +2,7 @@ package functions.threads;
 
 import functions.Function;
 import functions.Functions;
+import functions.metrics.Metrics;
 import java.util.concurrent.Semaphore;
 
 public class Integrator extends Thread {
@@ -17,13 +18,15 @@ public class Integrator extends Thread {
     public void run() {
         try {
             for (int i = 0; i < task.getTasksCount(); i++) {
-                if (isInterrupted()) {
+                if (Thread.currentThread().isInterrupted()) {
                     System.out.println("Integrator was interrupted");
                     return;
                 }
 
                 Function function;
-                double leftBorder, rightBorder, step;
+                double leftBorder, rightBorder, step, tolerance;
+                boolean adaptive;
+                long generatedNanos;
                 boolean shouldProcess = false;
 
                 // Захватываем семафор для чтения
@@ -34,6 +37,9 @@ public class Integrator extends Thread {
                     leftBorder = task.getLeftBorder();
                     rightBorder = task.getRightBorder();
                     step = task.getDiscretizationStep();
+                    tolerance = task.getTolerance();
+                    adaptive = task.isAdaptive();
+                    generatedNanos = task.getGeneratedNanos();
 
                     // Проверяем, что данные еще не обработаны
                     if (!task.isDataProcessed()) {
@@ -51,12 +57,21 @@ public class Integrator extends Thread {
 
                 // Пропускаем, если данные уже обработаны
                 if (!shouldProcess || function == null) {
+                    if (Metrics.ENABLED) {
+                        Metrics.TASKS_SKIPPED.increment();
+                    }
                     continue;
                 }
+                if (Metrics.ENABLED) {
+                    Metrics.stop(Metrics.HANDOFF_NANOS, generatedNanos);
+                    Metrics.TASKS_INTEGRATED.increment();
+                }
 
                 try {
-                    // Вычисляем интеграл
-                    double result = Functions.Integrate(function, leftBorder, rightBorder, step);
+                    // Вычисляем интеграл: адаптивно с погрешностью или с фиксированным шагом
+                    double result = adaptive
+                            ? Functions.integrateAdaptive(function, leftBorder, rightBorder, tolerance).getValue()
+                            : Functions.Integrate(function, leftBorder, rightBorder, step);
 
                     // Выводим результат
                     System.out.printf("Result %.6f %.6f %.6f %.6f\n",
@@ -0,0 +1,207 @@
+package functions.threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Область выполнения заданий: каждое задание (fork) получает собственный поток - виртуальный,
+// если JVM их поддерживает (Java 21+), иначе обычный. Потоков может быть тысячи: задания,
+// ожидающие ввода-вывода, не занимают процессор.
+// Тяжёлые вычисления (compute, integrate) выполняются в ограниченном пуле из computeThreads
+// потоков, а поток задания только ждёт результат, поэтому интегрирование не занимает
+// потоки-носители виртуальных потоков.
+//
+// Область структурирована: cancel прерывает все задания области, а close (в том числе при выходе
+// из try-with-resources) отменяет незавершённые задания и дожидается завершения их потоков.
+// Задание не переживает область, в которой создано.
+public class JobScope implements AutoCloseable {
+    private static final ThreadFactory VIRTUAL_THREADS = virtualThreadFactory();
+    private static final AtomicLong THREAD_NUMBER = new AtomicLong();
+
+    private final ThreadFactory threadFactory;
+    private final ExecutorService computePool;
+    private final boolean ownsComputePool;
+    private final boolean cancelOnFailure;
+    private final List<Job<?>> jobs = new ArrayList<>();
+    private boolean closed;
+    private volatile boolean cancelled;
+
+    // Область с пулом вычислений по числу процессоров
+    public JobScope() {
+        this(Runtime.getRuntime().availableProcessors(), false);
+    }
+
+    // cancelOnFailure - отменить все задания области, если одно из них завершилось исключением
+    public JobScope(int computeThreads, boolean cancelOnFailure) {
+        this(Executors.newFixedThreadPool(computeThreads), true, cancelOnFailure);
+    }
+
+    // Область с общим пулом вычислений; пул не останавливается при закрытии области
+    public JobScope(ExecutorService computePool, boolean cancelOnFailure) {
+        this(computePool, false, cancelOnFailure);
+    }
+
+    private JobScope(ExecutorService computePool, boolean ownsComputePool, boolean cancelOnFailure) {
+        this.threadFactory = VIRTUAL_THREADS != null ? VIRTUAL_THREADS : JobScope::platformThread;
+        this.computePool = computePool;
+        this.ownsComputePool = ownsComputePool;
+        this.cancelOnFailure = cancelOnFailure;
+    }
+
+    // true, если задания выполняются в виртуальных потоках
+    public static boolean isVirtualThreadsSupported() {
+        return VIRTUAL_THREADS != null;
+    }
+
+    // Запуск задания в отдельном потоке
+    public <T> Future<T> fork(Callable<T> job) {
+        Job<T> task = new Job<>(job);
+        Thread thread;
+        synchronized (jobs) {
+            if (closed || cancelled) {
+                throw new IllegalStateException("Область заданий закрыта или отменена");
+            }
+            thread = threadFactory.newThread(task);
+            task.thread = thread;
+            jobs.add(task);
+        }
+        thread.start();
+        return task;
+    }
+
+    public Future<?> fork(Runnable job) {
+        return fork(Executors.callable(job));
+    }
+
+    // Выполнение вычисления в ограниченном пуле; поток задания ждёт результат.
+    // При прерывании ожидания вычисление отменяется.
+    public <T> T compute(Callable<T> work) throws InterruptedException, ExecutionException {
+        Future<T> future = computePool.submit(work);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        }
+    }
+
+    // Интегрирование задания в пуле вычислений
+    public TaskResult integrate(IntegrationTask task) throws InterruptedException {
+        try {
+            return compute(() -> IntegrationService.execute(task));
+        } catch (ExecutionException e) {
+            // execute перехватывает RuntimeException, сюда попадают только Error
+            throw (Error) e.getCause();
+        }
+    }
+
+    // Ожидание завершения всех запущенных заданий
+    public void join() throws InterruptedException {
+        for (Thread thread : threads()) {
+            thread.join();
+        }
+    }
+
+    // То же с ограничением времени; false, если не все задания успели завершиться
+    public boolean join(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread thread : threads()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.timedJoin(thread, remaining);
+            }
+            if (thread.isAlive()) return false;
+        }
+        return true;
+    }
+
+    // Отмена всех заданий области: незапущенные не начнутся, выполняющиеся получат прерывание
+    public void cancel() {
+        cancelled = true;
+        for (Job<?> job : jobs()) {
+            job.cancel(true);
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Отмена незавершённых заданий и ожидание завершения их потоков
+    @Override
+    public void close() {
+        synchronized (jobs) {
+            closed = true;
+        }
+        cancel();
+        boolean interrupted = false;
+        for (Thread thread : threads()) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true; // дожидаемся всё равно, иначе задание переживёт область
+                }
+            }
+        }
+        if (ownsComputePool) {
+            computePool.shutdownNow();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<Job<?>> jobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs);
+        }
+    }
+
+    private List<Thread> threads() {
+        List<Thread> threads = new ArrayList<>();
+        for (Job<?> job : jobs()) {
+            threads.add(job.thread);
+        }
+        return threads;
+    }
+
+    private static Thread platformThread(Runnable runnable) {
+        return new Thread(runnable, "job-" + THREAD_NUMBER.incrementAndGet());
+    }
+
+    // Thread.ofVirtual().factory() через отражение, чтобы код собирался и на Java 17; null, если недоступно
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Задание области; при ошибке может отменить остальные задания
+    private final class Job<T> extends FutureTask<T> {
+        Thread thread;
+
+        Job(Callable<T> callable) {
+            super(callable);
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            super.setException(t);
+            if (cancelOnFailure) {
+                JobScope.this.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package functions.threads;
+
+import functions.basic.Log;
+import functions.metrics.Metrics;
+
+// Генератор заданий для TaskRing: заполняет ячейки кольца и публикует их пачками до batchSize.
+// Аналог Generator без семафора и ожидания на task.wait.
+public class RingGenerator implements Runnable {
+    private final TaskRing ring;
+    private final int tasksCount;
+    private final int batchSize;
+    private final double tolerance; // погрешность адаптивного интегрирования заданий; 0 - фиксированный шаг
+
+    // задания интегрируются адаптивно с погрешностью tolerance (Task.isAdaptive)
+    public RingGenerator(TaskRing ring, int tasksCount, int batchSize, double tolerance) {
+        if (batchSize < 1 || batchSize > ring.getCapacity()) {
+            throw new IllegalArgumentException("Размер пачки должен быть от 1 до ёмкости кольца");
+        }
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("Погрешность не может быть отрицательной");
+        }
+        this.ring = ring;
+        this.tasksCount = tasksCount;
+        this.batchSize = batchSize;
+        this.tolerance = tolerance;
+    }
+
+    public RingGenerator(TaskRing ring, int tasksCount, int batchSize) {
+        this(ring, tasksCount, batchSize, 0);
+    }
+
+    public RingGenerator(TaskRing ring, int tasksCount) {
+        this(ring, tasksCount, 1);
+    }
+
+    @Override
+    public void run() {
+        try {
+            for (int generated = 0; generated < tasksCount; ) {
+                int count = Math.min(batchSize, tasksCount - generated);
+                long last = ring.claim(count);
+                for (long sequence = last - count + 1; sequence <= last; sequence++) {
+                    // Генерируем случайные параметры прямо в ячейке кольца
+                    double base = 1 + Math.random() * 9;
+                    if (Math.abs(base - 1.0) < 1e-10) {
+                        base = 1.1;
+                    }
+                    Task task = ring.get(sequence);
+                    task.setFunction(new Log(base));
+                    task.setLeftBorder(Math.random() * 100);
+                    task.setRightBorder(100 + Math.random() * 100);
+                    task.setDiscretizationStep(Math.random());
+                    task.setTolerance(tolerance); // ячейки переиспользуются - погрешность задаётся всегда
+                    task.setGeneratedNanos(Metrics.start());
+
+                    System.out.printf("Source %.6f %.6f %.6f\n",
+                            task.getLeftBorder(), task.getRightBorder(), task.getDiscretizationStep());
+                }
+                ring.publish(last);
+                if (Metrics.ENABLED) {
+                    Metrics.TASKS_GENERATED.add(count);
+                }
+                generated += count;
+            }
+        } catch (InterruptedException e) {
+            System.out.println("Generator was interrupted");
+        } finally {
+            ring.close();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package functions.threads;
+
+import functions.Function;
+import functions.Functions;
+import functions.metrics.Metrics;
+
+// Интегратор заданий из TaskRing: обрабатывает все опубликованные задания пачкой
+// и освобождает их ячейки одним вызовом release. Завершается, когда кольцо закрыто и пусто.
+public class RingIntegrator implements Runnable {
+    private final TaskRing ring;
+    private long processedCount;
+
+    public RingIntegrator(TaskRing ring) {
+        this.ring = ring;
+    }
+
+    // количество обработанных заданий (читать после завершения потока)
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    @Override
+    public void run() {
+        try {
+            long next = 0;
+            long available;
+            while ((available = ring.waitFor(next)) >= 0) {
+                for (; next <= available; next++) {
+                    Task task = ring.get(next);
+                    Function function = task.getFunction();
+                    double leftBorder = task.getLeftBorder();
+                    double rightBorder = task.getRightBorder();
+                    double step = task.getDiscretizationStep();
+                    double tolerance = task.getTolerance();
+                    if (Metrics.ENABLED) {
+                        Metrics.stop(Metrics.HANDOFF_NANOS, task.getGeneratedNanos());
+                        Metrics.TASKS_INTEGRATED.increment();
+                    }
+
+                    try {
+                        // Вычисляем интеграл: адаптивно с погрешностью или с фиксированным шагом
+                        double result = task.isAdaptive()
+                                ? Functions.integrateAdaptive(function, leftBorder, rightBorder, tolerance).getValue()
+                                : Functions.Integrate(function, leftBorder, rightBorder, step);
+                        System.out.printf("Result %.6f %.6f %.6f %.6f\n",
+                                leftBorder, rightBorder, step, result);
+                    } catch (IllegalArgumentException e) {
+                        System.out.printf("Error: %s for bounds [%.6f, %.6f] step %.6f\n",
+                                e.getMessage(), leftBorder, rightBorder, step);
+                    }
+                    processedCount++;
+                }
+                ring.release(available);
+            }
+        } catch (InterruptedException e) {
+            System.out.println("Integrator was interrupted");
+        }
+    }
+}
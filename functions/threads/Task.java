@@ -7,7 +7,9 @@ public class Task {
     private double leftBorder;
     private double rightBorder;
     private double discretizationStep;
+    private double tolerance; // погрешность адаптивного интегрирования; 0 - интегрировать с шагом discretizationStep
     private int tasksCount;
+    private long generatedNanos; // время генерации задания (System.nanoTime) для метрик
     private boolean dataProcessed = true; // true - данные обработаны, можно генерировать новые
 
     public Task() {
@@ -45,6 +47,19 @@ public class Task {
         this.discretizationStep = discretizationStep;
     }
 
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    // true, если задание интегрируется адаптивно с заданной погрешностью, а не с фиксированным шагом
+    public boolean isAdaptive() {
+        return tolerance > 0;
+    }
+
     public int getTasksCount() {
         return tasksCount;
     }
@@ -53,6 +68,14 @@ public class Task {
         this.tasksCount = tasksCount;
     }
 
+    public long getGeneratedNanos() {
+        return generatedNanos;
+    }
+
+    public void setGeneratedNanos(long generatedNanos) {
+        this.generatedNanos = generatedNanos;
+    }
+
     private volatile boolean newData = false;
 
     public synchronized void markDataAsNew() {
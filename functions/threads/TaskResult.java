@@ -0,0 +1,49 @@
+package functions.threads;
+
+// Результат выполнения IntegrationTask: значение интеграла или исключение,
+// из-за которого задание не выполнено (например, некорректные границы)
+public final class TaskResult {
+    private final IntegrationTask task;
+    private final double value;
+    private final RuntimeException failure;
+    private final long elapsedNanos;
+
+    TaskResult(IntegrationTask task, double value, RuntimeException failure, long elapsedNanos) {
+        this.task = task;
+        this.value = value;
+        this.failure = failure;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public IntegrationTask getTask() {
+        return task;
+    }
+
+    // значение интеграла (NaN, если задание завершилось ошибкой)
+    public double getValue() {
+        return value;
+    }
+
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+
+    // время вычисления в наносекундах
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        if (failure != null) {
+            return String.format("Error: %s for bounds [%.6f, %.6f] step %.6f", failure.getMessage(),
+                    task.getLeftBorder(), task.getRightBorder(), task.getDiscretizationStep());
+        }
+        return String.format("Result %.6f %.6f %.6f %.6f",
+                task.getLeftBorder(), task.getRightBorder(), task.getDiscretizationStep(), value);
+    }
+}
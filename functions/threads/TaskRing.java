@@ -0,0 +1,127 @@
+package functions.threads;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Кольцевой буфер заданий для одного генератора и одного интегратора (SPSC) без блокировок.
+//
+// Ячейки - заранее созданные изменяемые объекты Task, которые переиспользуются по кругу,
+// поэтому передача задания ничего не создаёт. Номера заданий (последовательности) растут
+// непрерывно; задание с номером s лежит в ячейке s & mask.
+//   Генератор: claim -> заполнить get(s) -> publish(s)
+//   Интегратор: waitFor(s) -> прочитать get(s)..get(available) -> release(available)
+// Запись номеров - setRelease, чтение - getAcquire: всё, что записано в ячейку до publish,
+// видно интегратору после waitFor, а всё, что прочитано до release, не пересекается
+// со следующей записью генератора в ту же ячейку.
+// Методы генератора вызываются только из одного потока, методы интегратора - из другого.
+public class TaskRing {
+    // номера хранятся в одном массиве на расстоянии не меньше 128 байт, чтобы не попадать
+    // в одну линию кэша; собственные копии номеров - там же, отдельно для каждого потока
+    private static final int PUBLISHED = 16;  // номер последнего опубликованного задания
+    private static final int RELEASED = 32;   // номер последнего освобождённого задания
+    private static final int CLOSED = 48;     // 1 - генератор больше не публикует задания
+    private static final int CLAIMED = 64;          // генератор: последний занятый номер
+    private static final int RELEASED_CACHE = 65;   // генератор: последний известный освобождённый номер
+    private static final int PUBLISHED_CACHE = 96;  // интегратор: последний известный опубликованный номер
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final Task[] slots;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final long[] sequences = new long[128];
+
+    // capacity округляется вверх до степени двойки
+    public TaskRing(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Ёмкость кольца должна быть от 1 до 2^30");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Task[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Task();
+        }
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy;
+        sequences[PUBLISHED] = -1;
+        sequences[RELEASED] = -1;
+        // собственные копии номеров, чтобы реже читать номер другого потока
+        sequences[CLAIMED] = -1;
+        sequences[RELEASED_CACHE] = -1;
+        sequences[PUBLISHED_CACHE] = -1;
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    // ячейка задания с номером sequence
+    public Task get(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    // ГЕНЕРАТОР
+
+    // Занять следующую ячейку; ждёт, пока интегратор освободит её
+    public long claim() throws InterruptedException {
+        return claim(1);
+    }
+
+    // Занять count ячеек подряд; возвращает номер последней (первая - результат - count + 1)
+    public long claim(int count) throws InterruptedException {
+        if (count < 1 || count > slots.length) {
+            throw new IllegalArgumentException("Можно занять от 1 до " + slots.length + " ячеек");
+        }
+        long last = sequences[CLAIMED] + count;
+        long wrapPoint = last - slots.length; // эта ячейка должна быть уже освобождена
+        if (sequences[RELEASED_CACHE] < wrapPoint) {
+            int iteration = 0;
+            long released;
+            while ((released = (long) SEQUENCES.getAcquire(sequences, RELEASED)) < wrapPoint) {
+                if (Thread.interrupted()) throw new InterruptedException();
+                waitStrategy.idle(iteration++);
+            }
+            sequences[RELEASED_CACHE] = released;
+        }
+        sequences[CLAIMED] = last;
+        return last;
+    }
+
+    // Опубликовать все занятые ячейки до номера sequence включительно
+    public void publish(long sequence) {
+        SEQUENCES.setRelease(sequences, PUBLISHED, sequence);
+    }
+
+    // Больше заданий не будет; интегратор получит -1 после обработки опубликованных
+    public void close() {
+        SEQUENCES.setRelease(sequences, CLOSED, 1L);
+    }
+
+    // ИНТЕГРАТОР
+
+    // Ждать публикации задания с номером sequence; возвращает номер последнего опубликованного
+    // задания (не меньше sequence) или -1, если кольцо закрыто и заданий больше нет
+    public long waitFor(long sequence) throws InterruptedException {
+        long published = sequences[PUBLISHED_CACHE];
+        if (published >= sequence) {
+            return published;
+        }
+        int iteration = 0;
+        while ((published = (long) SEQUENCES.getAcquire(sequences, PUBLISHED)) < sequence) {
+            if ((long) SEQUENCES.getAcquire(sequences, CLOSED) != 0) {
+                // close мог быть вызван сразу после последней публикации
+                published = (long) SEQUENCES.getAcquire(sequences, PUBLISHED);
+                sequences[PUBLISHED_CACHE] = published;
+                return published >= sequence ? published : -1;
+            }
+            if (Thread.interrupted()) throw new InterruptedException();
+            waitStrategy.idle(iteration++);
+        }
+        sequences[PUBLISHED_CACHE] = published;
+        return published;
+    }
+
+    // Освободить ячейки до номера sequence включительно для повторного заполнения
+    public void release(long sequence) {
+        SEQUENCES.setRelease(sequences, RELEASED, sequence);
+    }
+}
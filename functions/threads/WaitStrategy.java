@@ -0,0 +1,49 @@
+package functions.threads;
+
+import java.util.concurrent.locks.LockSupport;
+
+// Способ ожидания в TaskRing, пока другой поток опубликует или освободит ячейку.
+// iteration - номер попытки подряд, начиная с 0.
+public enum WaitStrategy {
+    // Активное ожидание: минимальная задержка, но ядро занято всё время ожидания;
+    // подходит, только если у генератора и интегратора есть собственные ядра
+    BUSY_SPIN {
+        @Override
+        void idle(int iteration) {
+            Thread.onSpinWait();
+        }
+    },
+
+    // Сначала активное ожидание, затем уступка процессора другим потокам
+    YIELD {
+        @Override
+        void idle(int iteration) {
+            if (iteration < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+
+    // Активное ожидание, уступка процессора, затем засыпание на PARK_NANOS;
+    // почти не занимает процессор, но добавляет до PARK_NANOS задержки
+    PARK {
+        @Override
+        void idle(int iteration) {
+            if (iteration < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (iteration < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    abstract void idle(int iteration);
+}
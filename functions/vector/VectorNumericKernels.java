@@ -0,0 +1,176 @@
+package functions.vector;
+
+import functions.NumericKernels;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+// Векторные ядра на Vector API (jdk.incubator.vector): ширина вектора - предпочтительная для процессора
+// (4 double на AVX2, 8 на AVX-512). Хвосты массивов короче вектора считаются скалярно.
+//
+// Модуль jdk.incubator.vector инкубационный: JVM нужно запускать с --add-modules jdk.incubator.vector,
+// иначе NumericKernels.current() выбирает скалярные ядра. Без поддержки SIMD в JIT векторные операции
+// работают, но медленнее скалярных; -Dfunctions.kernels=scalar отключает векторные ядра.
+public class VectorNumericKernels implements NumericKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    // номера отрезков: столько же полос int, сколько double
+    private static final VectorSpecies<Integer> INDEX_SPECIES =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(SPECIES.length() * Integer.SIZE));
+    private static final double EPS = Math.ulp(1.0); // машинный эпсилон, как у табулированных функций
+    // веса Симпсона 4, 2, 4, 2, ... для внутренних узлов начиная с values[1]
+    private static final DoubleVector SIMPSON_WEIGHTS = simpsonWeights();
+
+    public VectorNumericKernels() {
+        if (SPECIES.length() < 2) {
+            throw new UnsupportedOperationException("Процессор не поддерживает векторы double");
+        }
+    }
+
+    // Суммы по частичным суммам в каждой полосе вектора; порядок сложения отличается от скалярного
+    @Override
+    public double trapezoidSum(double[] values, int count) {
+        int pairs = count - 1;
+        int bound = SPECIES.loopBound(Math.max(pairs, 0));
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector a = DoubleVector.fromArray(SPECIES, values, i);
+            DoubleVector b = DoubleVector.fromArray(SPECIES, values, i + 1);
+            acc = acc.add(a.add(b));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < pairs; i++) {
+            sum += values[i] + values[i + 1];
+        }
+        return sum;
+    }
+
+    private static DoubleVector simpsonWeights() {
+        double[] weights = new double[SPECIES.length()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = i % 2 == 0 ? 4 : 2;
+        }
+        return DoubleVector.fromArray(SPECIES, weights, 0);
+    }
+
+    // Длина вектора чётна, поэтому шаблон весов одинаков для всех векторов
+    @Override
+    public double simpsonSum(double[] values, int count) {
+        int inner = count - 2;
+        int bound = SPECIES.loopBound(Math.max(inner, 0));
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            acc = acc.add(DoubleVector.fromArray(SPECIES, values, i + 1).mul(SIMPSON_WEIGHTS));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < inner; i++) {
+            sum += (i % 2 == 0 ? 4 : 2) * values[i + 1];
+        }
+        return values[0] + sum + values[count - 1];
+    }
+
+    // start + i * step, как в скалярном варианте: результат совпадает побитово
+    @Override
+    public void fillGrid(double start, double step, int count, double[] xs) {
+        int bound = SPECIES.loopBound(count);
+        DoubleVector lanes = DoubleVector.zero(SPECIES).addIndex(1);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            lanes.add(i).mul(step).add(start).intoArray(xs, i);
+        }
+        for (; i < count; i++) {
+            xs[i] = start + i * step;
+        }
+    }
+
+    // Векторно считаются группы точек из одного отрезка (для возрастающих x - почти все):
+    // концы, y и наклон отрезка размножаются на все полосы, ветви getFunctionValue заменены масками
+    // с тем же приоритетом - вне области NaN, затем левый узел, затем правый.
+    // Группы, попавшие на несколько отрезков, считаются скалярно: сборка коэффициентов через gather
+    // (пять gather на вектор) оказалась медленнее скалярного кода, а 512-битные gather в C2 JDK 17
+    // на AVX-512 приводят к падению JVM.
+    // Умножение и сложение раздельные (без FMA), поэтому результат совпадает со скалярным побитово
+    @Override
+    public void interpolate(double[] nodeXs, double[] nodeYs, double[] slopes, int[] segments,
+                            double[] xs, double[] values, int offset, int count) {
+        double left = nodeXs[0] - EPS;
+        double right = nodeXs[nodeXs.length - 1] + EPS;
+        int bound = SPECIES.loopBound(count);
+        int k = 0;
+        for (; k < bound; k += SPECIES.length()) {
+            int s = segments[k];
+            if (!IntVector.fromArray(INDEX_SPECIES, segments, k).eq(s).allTrue()) {
+                for (int j = k; j < k + SPECIES.length(); j++) {
+                    values[offset + j] = value(nodeXs, nodeYs, slopes, segments[j], xs[offset + j], left, right);
+                }
+                continue;
+            }
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, offset + k);
+            DoubleVector dx = x.sub(nodeXs[s]);
+            DoubleVector value = dx.mul(slopes[s]).add(nodeYs[s]);
+            value = value.blend(nodeYs[s + 1], x.sub(nodeXs[s + 1]).abs().lt(EPS));
+            value = value.blend(nodeYs[s], dx.abs().lt(EPS));
+            VectorMask<Double> outside = x.lt(left).or(x.compare(VectorOperators.GT, right));
+            value.blend(Double.NaN, outside).intoArray(values, offset + k);
+        }
+        for (; k < count; k++) {
+            values[offset + k] = value(nodeXs, nodeYs, slopes, segments[k], xs[offset + k], left, right);
+        }
+    }
+
+    // Вариант без наклонов: (y2 - y1) и (x2 - x1) размножаются на полосы, деление выполняется в каждой
+    // полосе; порядок операций тот же, что у ArrayTabulatedFunction, поэтому результат совпадает побитово
+    @Override
+    public void interpolate(double[] nodeXs, double[] nodeYs, int nodeCount, int[] segments,
+                            double[] xs, double[] values, int offset, int count) {
+        double left = nodeXs[0] - EPS;
+        double right = nodeXs[nodeCount - 1] + EPS;
+        int bound = SPECIES.loopBound(count);
+        int k = 0;
+        for (; k < bound; k += SPECIES.length()) {
+            int s = segments[k];
+            if (!IntVector.fromArray(INDEX_SPECIES, segments, k).eq(s).allTrue()) {
+                for (int j = k; j < k + SPECIES.length(); j++) {
+                    values[offset + j] = value(nodeXs, nodeYs, segments[j], xs[offset + j], left, right);
+                }
+                continue;
+            }
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, offset + k);
+            DoubleVector dx = x.sub(nodeXs[s]);
+            DoubleVector value = dx.mul(nodeYs[s + 1] - nodeYs[s]).div(nodeXs[s + 1] - nodeXs[s]).add(nodeYs[s]);
+            value = value.blend(nodeYs[s + 1], x.sub(nodeXs[s + 1]).abs().lt(EPS));
+            value = value.blend(nodeYs[s], dx.abs().lt(EPS));
+            VectorMask<Double> outside = x.lt(left).or(x.compare(VectorOperators.GT, right));
+            value.blend(Double.NaN, outside).intoArray(values, offset + k);
+        }
+        for (; k < count; k++) {
+            values[offset + k] = value(nodeXs, nodeYs, segments[k], xs[offset + k], left, right);
+        }
+    }
+
+    // значение в x на отрезке s, как в FrozenTabulatedFunction.getFunctionValue
+    private static double value(double[] nodeXs, double[] nodeYs, double[] slopes, int s, double x,
+                                double left, double right) {
+        if (x < left || x > right) return Double.NaN;
+        if (Math.abs(x - nodeXs[s]) < EPS) return nodeYs[s];
+        if (Math.abs(x - nodeXs[s + 1]) < EPS) return nodeYs[s + 1];
+        return nodeYs[s] + slopes[s] * (x - nodeXs[s]);
+    }
+
+    // значение в x на отрезке s без наклонов, как в ArrayTabulatedFunction.getFunctionValue
+    private static double value(double[] nodeXs, double[] nodeYs, int s, double x, double left, double right) {
+        if (x < left || x > right) return Double.NaN;
+        if (Math.abs(x - nodeXs[s]) < EPS) return nodeYs[s];
+        if (Math.abs(x - nodeXs[s + 1]) < EPS) return nodeYs[s + 1];
+        return nodeYs[s] + (nodeYs[s + 1] - nodeYs[s]) * (x - nodeXs[s]) / (nodeXs[s + 1] - nodeXs[s]);
+    }
+
+    @Override
+    public String getName() {
+        return "vector(" + SPECIES.vectorBitSize() + " bit)";
+    }
+}